@@ -0,0 +1,139 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes for the media-catalog query shapes
+ * Declares one index per MediaRepository query shape, builds them in the
+ * background and then checks with explain() that each shape is answered by an
+ * index scan. Any shape that would still scan the collection is logged as a
+ * warning, so a renamed field or a dropped index shows up at startup rather
+ * than as slow listings.
+ *
+ * Runs from CatalogSeeder, off the request path and before the catalog is
+ * seeded. Title search is not covered: an unanchored, case-insensitive regex
+ * cannot use a B-tree index.
+ */
+@Component
+public class MediaIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaIndexManager.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${catalog.indexes.verify:true}")
+    private boolean verify;
+
+    private volatile List<String> scanningQueries = new ArrayList<>();
+
+    /**
+     * Create the media-catalog indexes
+     * Idempotent: indexes that already exist with the same definition are left alone.
+     * @throws RuntimeException if MongoDB cannot be reached, so the caller can retry
+     */
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Media.class);
+        // findByType, /api/movies, /api/tvshows and the keyset pages by type (ordered by _id)
+        indexOps.createIndex(new Index().on("type", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                .named("type_id").background());
+        // findByPriceRange filters on buyCents alone
+        indexOps.createIndex(new Index().on("buyCents", Sort.Direction.ASC)
+                .named("buyCents").background());
+        // Superseded by buyCents: buy only holds legacy amounts until PriceCentsMigration removes them
+        if (indexOps.getIndexInfo().stream().anyMatch(index -> "buy".equals(index.getName()))) {
+            indexOps.dropIndex("buy");
+        }
+        log.info("media-catalog indexes in place");
+    }
+
+    /**
+     * Explain every indexed query shape and warn about collection scans
+     * Never throws: verification problems are logged, not fatal.
+     * @return Names of the query shapes that would scan the collection
+     */
+    public List<String> verifyQueryShapes() {
+        if (!verify) {
+            return scanningQueries;
+        }
+        List<String> scanning = new ArrayList<>();
+        String collection = mongoTemplate.getCollectionName(Media.class);
+        for (Map.Entry<String, Document[]> shape : queryShapes().entrySet()) {
+            try {
+                Document plan = mongoTemplate.getCollection(collection)
+                        .find(shape.getValue()[0])
+                        .sort(shape.getValue()[1])
+                        .explain();
+                Object winningPlan = ((Document) plan.get("queryPlanner")).get("winningPlan");
+                if (hasStage(winningPlan, "COLLSCAN")) {
+                    scanning.add(shape.getKey());
+                    log.warn("media-catalog query {} would scan the collection: {}", shape.getKey(), shape.getValue()[0].toJson());
+                }
+            } catch (Exception e) {
+                log.warn("Could not explain media-catalog query {}: {}", shape.getKey(), e.getMessage());
+            }
+        }
+        if (scanning.isEmpty()) {
+            log.info("All {} media-catalog query shapes use an index", queryShapes().size());
+        }
+        scanningQueries = scanning;
+        return scanning;
+    }
+
+    /**
+     * @return Query shapes that would scan the collection at the last verification
+     */
+    public List<String> getScanningQueries() {
+        return scanningQueries;
+    }
+
+    // Repository query name -> { filter, sort } with representative values
+    private static Map<String, Document[]> queryShapes() {
+        Map<String, Document[]> shapes = new LinkedHashMap<>();
+        shapes.put("findByType", new Document[] {
+                new Document("type", MediaType.MOVIE.getCode()), new Document() });
+        shapes.put("findByTypeAndIdGreaterThanOrderByIdAsc", new Document[] {
+                new Document("type", MediaType.MOVIE.getCode()).append("_id", new Document("$gt", new ObjectId())),
+                new Document("_id", 1) });
+        shapes.put("findByPriceRange", new Document[] {
+                new Document("buyCents", new Document("$gte", 500L).append("$lte", 2000L)), new Document() });
+        return shapes;
+    }
+
+    // Plans nest stages under inputStage / inputStages (and queryPlan on slot-based engines)
+    private static boolean hasStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (hasStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (hasStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,12 @@
 package com.bhrugu.api.restapi.config;
 
 import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
 import com.bhrugu.api.restapi.repository.MediaRepository;
+import com.bhrugu.api.restapi.service.MediaBulkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import java.util.Arrays;
 import java.util.List;
@@ -11,31 +14,36 @@ import java.util.List;
 /**
  * MongoDB Data Initializer
  * Populates the MongoDB Atlas database with sample media data
- * Runs automatically when the application starts
+ * Runs on a background thread after startup (see CatalogSeeder)
  * 
  * This initializer checks if the database is empty and loads
  * sample movies and TV shows for the digital video store
  */
 @Component
-public class MongoDataInitializer implements CommandLineRunner {
+public class MongoDataInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoDataInitializer.class);
     
     @Autowired
     private MediaRepository mediaRepository;
     
+    @Autowired
+    private MediaBulkService mediaBulkService;
+    
     /**
      * Initialize MongoDB with sample data if empty
-     * @param args Command line arguments (not used)
+     * @return Number of media items inserted (0 if the database already had data)
      */
-    @Override
-    public void run(String... args) throws Exception {
+    public int seed() {
         
         // Check if database already has data
-        if (mediaRepository.count() > 0) {
-            System.out.println("MongoDB already contains " + mediaRepository.count() + " media items");
-            return;
+        long existing = mediaRepository.count();
+        if (existing > 0) {
+            log.info("MongoDB already contains {} media items", existing);
+            return 0;
         }
         
-        System.out.println("Initializing MongoDB Atlas with sample media data...");
+        log.info("Initializing MongoDB Atlas with sample media data");
         
         // Create sample media data
         List<Media> sampleMedia = Arrays.asList(
@@ -187,12 +195,10 @@ public class MongoDataInitializer implements CommandLineRunner {
                 3.99, 35.99)
         );
         
-        // Save all sample media to MongoDB
-        mediaRepository.saveAll(sampleMedia);
+        // Save all sample media to MongoDB in unordered bulk batches
+        BulkImportResult result = mediaBulkService.insertAll(sampleMedia);
         
-        System.out.println("Successfully initialized MongoDB Atlas with " + sampleMedia.size() + " media items");
-        System.out.println("Database: streamvault-db");
-        System.out.println("Collection: media-catalog");
-        System.out.println("Media types: movies and tv-shows");
+        log.info("Initialized MongoDB Atlas with {} media items (media-catalog: movies and tv-shows)", result.getInserted());
+        return result.getInserted();
     }
 }
@@ -0,0 +1,51 @@
+package com.bhrugu.api.restapi.config;
+
+import io.micrometer.context.ContextRegistry;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-request correlation id for the "reactive" profile
+ * Same header, id format and MDC key as RequestIdFilter. A WebFlux request
+ * hops between event-loop, driver and executor threads, so the id is written
+ * to the Reactor context rather than the MDC; with
+ * spring.reactor.context-propagation=auto Reactor copies it into the MDC of
+ * whichever thread runs the next operator, and the task decorator in
+ * ReactiveWebConfig carries it onto the blocking handler threads.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveRequestIdFilter implements WebFilter {
+
+    static {
+        // Lets context propagation restore the MDC entry from the Reactor context
+        ContextRegistry.getInstance().registerThreadLocalAccessor(RequestIdFilter.MDC_KEY,
+                () -> MDC.get(RequestIdFilter.MDC_KEY),
+                requestId -> MDC.put(RequestIdFilter.MDC_KEY, requestId),
+                () -> MDC.remove(RequestIdFilter.MDC_KEY));
+    }
+
+    private final String prefix = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xffffffffL) + "-";
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestId = exchange.getRequest().getHeaders().getFirst(RequestIdFilter.HEADER);
+        if (!RequestIdFilter.isValid(requestId)) {
+            requestId = prefix + Long.toHexString(sequence.incrementAndGet());
+        }
+        exchange.getResponse().getHeaders().set(RequestIdFilter.HEADER, requestId);
+        return chain.filter(exchange).contextWrite(Context.of(RequestIdFilter.MDC_KEY, requestId));
+    }
+}
@@ -0,0 +1,68 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.controller.ReactiveMediaController;
+import com.bhrugu.api.restapi.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux configuration for the "reactive" profile
+ * (application-reactive.properties switches the application to WebFlux)
+ *
+ * - Runs on Netty even though Tomcat is on the classpath for the default
+ *   profile, so requests are served by a few event-loop threads
+ * - Same CORS rules as WebConfig, including the exposed X-Request-Id
+ * - Auth, customer and admin endpoints are still blocking; their handler
+ *   methods run on the application task executor (spring.task.execution.pool.*)
+ *   so they never block an event loop. Admin is served by ReactiveAdminController,
+ *   which takes the import body as buffers instead of an InputStream.
+ *   ReactiveMediaController is excluded: it only assembles publishers and
+ *   returns immediately.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor blockingExecutor;
+
+    // Copies the submitting thread's context (the request id in the MDC) onto the
+    // executor thread; static so the executor can be built before this configuration
+    @Bean
+    public static TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/api/**")
+                .allowedOrigins(WebConfig.ALLOWED_ORIGINS)
+                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .exposedHeaders(SessionTokenService.TOKEN_HEADER, RequestIdFilter.HEADER)
+                .allowCredentials(true)
+                .maxAge(3600);
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingExecutor);
+        configurer.setControllerMethodPredicate(method -> method.getBeanType() != ReactiveMediaController.class);
+    }
+}
@@ -1,28 +1,35 @@
 package com.bhrugu.api.restapi.config;
 
+import com.bhrugu.api.restapi.service.SessionTokenService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Global CORS Configuration for Digital Video Store API
  * Allows frontend applications to access the backend API from different origins
+ * (ReactiveWebConfig applies the same rules under the "reactive" profile)
  */
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
 
+    static final String[] ALLOWED_ORIGINS = {
+        "http://localhost:3000",           // Local React development
+        "http://localhost:3001",           // Alternative local port
+        "http://localhost:3002",           // Alternative local port
+        "https://digital-video-store-iota.vercel.app",  // Vercel production
+        "https://*.vercel.app"             // Any Vercel deployment
+    };
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
-                .allowedOrigins(
-                    "http://localhost:3000",           // Local React development
-                    "http://localhost:3001",           // Alternative local port
-                    "http://localhost:3002",           // Alternative local port
-                    "https://digital-video-store-iota.vercel.app",  // Vercel production
-                    "https://*.vercel.app"             // Any Vercel deployment
-                )
+                .allowedOrigins(ALLOWED_ORIGINS)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(SessionTokenService.TOKEN_HEADER, RequestIdFilter.HEADER) // Login token; request id for support
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight response for 1 hour
     }
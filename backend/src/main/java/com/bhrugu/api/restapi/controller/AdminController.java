@@ -0,0 +1,63 @@
+package com.bhrugu.api.restapi.controller;
+
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.service.AdminAccess;
+import com.bhrugu.api.restapi.service.MediaBulkService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
+
+/**
+ * REST Controller for catalog administration
+ * Operations that work on the catalog as a whole rather than on single items
+ *
+ * Only one of the two admin controllers is registered: this one by default,
+ * ReactiveAdminController with --spring.profiles.active=reactive (WebFlux
+ * cannot hand a handler the raw InputStream the import reads from).
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Profile("!reactive")
+public class AdminController {
+
+    // Bulk ingestion path shared with the startup data initializers
+    @Autowired
+    private MediaBulkService mediaBulkService;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    /**
+     * POST /api/admin/media/import - Bulk import media
+     * Accepts a JSON array of media documents or NDJSON, one document per line
+     * (the format produced by GET /api/media/export). Only for admins, see AdminAccess.
+     *
+     * @param authorization Authorization header with an admin's bearer token
+     * @param body Raw request body, read incrementally in batches
+     * @return ApiResponse with inserted/failed counts, 400 if the body is not valid JSON,
+     *         401 without a valid session, 403 for a non-admin
+     */
+    @PostMapping(value = "/media/import", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<BulkImportResult>> importMedia(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            InputStream body) {
+        HttpStatus denied = adminAccess.deny(authorization);
+        if (denied != null) {
+            return ResponseEntity.status(denied).body(ApiResponse.error("Admin session required", denied.value()));
+        }
+        try {
+            BulkImportResult result = mediaBulkService.importMedia(body);
+            String message = "Imported " + result.getInserted() + " of " + result.getReceived() + " media items";
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid import body: " + e.getOriginalMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(ApiResponse.error("Failed to import media: " + e.getMessage(), 500));
+        }
+    }
+}
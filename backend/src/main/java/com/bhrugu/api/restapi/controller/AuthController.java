@@ -2,6 +2,7 @@ package com.bhrugu.api.restapi.controller;
 
 import com.bhrugu.api.restapi.model.Customer;
 import com.bhrugu.api.restapi.service.CustomerService;
+import com.bhrugu.api.restapi.service.SessionTokenService;
 import com.bhrugu.api.restapi.dto.CustomerRegistrationRequest;
 import com.bhrugu.api.restapi.dto.CustomerLoginRequest;
 import com.bhrugu.api.restapi.dto.ApiResponse;
@@ -29,6 +30,10 @@ public class AuthController {
     @Autowired
     private CustomerService customerService;
     
+    // Issues and verifies signed session tokens (no database access)
+    @Autowired
+    private SessionTokenService sessionTokens;
+    
     /**
      * POST /api/auth/register - Register a new customer
      * Accepts JSON data from frontend registration form (Register.js)
@@ -95,7 +100,10 @@ public class AuthController {
             
             // Return appropriate HTTP status based on response
             if (response.isSuccess()) {
-                return ResponseEntity.ok(response);
+                // Signed session token for later requests (Authorization: Bearer <token>)
+                return ResponseEntity.ok()
+                        .header(SessionTokenService.TOKEN_HEADER, sessionTokens.issue(response.getData().getId()))
+                        .body(response);
             } else {
                 HttpStatus status = HttpStatus.BAD_REQUEST;
                 if (response.getStatusCode() == 401) {
@@ -113,6 +121,44 @@ public class AuthController {
         }
     }
     
+    /**
+     * POST /api/auth/logout - Revoke the caller's session token
+     * The token stays cryptographically valid until it expires, so it is
+     * added to the in-memory revocation filter checked on every verification
+     * 
+     * @param authorization Authorization header with the bearer token
+     * @return Success message, 401 if the token was not valid
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        
+        if (!sessionTokens.revoke(SessionTokenService.bearerToken(authorization))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid or expired session", 401));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully", "OK", 200));
+    }
+    
+    /**
+     * GET /api/auth/session - Check the caller's session token
+     * Verified from the token signature alone, without a database lookup
+     * 
+     * @param authorization Authorization header with the bearer token
+     * @return Customer ID of the session, 401 if the token is not valid
+     */
+    @GetMapping("/session")
+    public ResponseEntity<ApiResponse<String>> getSession(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        
+        SessionTokenService.Session session = sessionTokens.verify(SessionTokenService.bearerToken(authorization));
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid or expired session", 401));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Session is valid", session.getSubjectId(), 200));
+    }
+    
     /**
      * GET /api/auth/health - Health check endpoint
      * Simple endpoint to verify auth service is working
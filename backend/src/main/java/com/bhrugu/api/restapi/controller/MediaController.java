@@ -1,13 +1,24 @@
 package com.bhrugu.api.restapi.controller;
 
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSummary;
 import com.bhrugu.api.restapi.model.Media;
 import com.bhrugu.api.restapi.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for Media operations
@@ -15,25 +26,68 @@ import java.util.Optional;
  * Works with MongoDB through MediaService
  * 
  * All endpoints return JSON responses and support CORS for frontend integration
+ * List endpoints accept ?fields=id,title,... to return only those fields
+ * (projected in MongoDB); see MediaSummary.FIELDS for the allowed names
  * Frontend deployed at: https://digital-video-store-iota.vercel.app
  * Backend deployed at: https://digital-video-store-production.up.railway.app
+ * 
+ * Replaced by ReactiveMediaController when the "reactive" profile is active
  */
 @RestController
 @RequestMapping("/api")
+@Profile("!reactive")
 public class MediaController {
     
     // Dependency injection - Spring automatically provides MediaService instance
     @Autowired
     private MediaService mediaService;
     
+    // Async timeout for the export only; other async requests keep Spring's default
+    @Value("${catalog.export.timeout:10m}")
+    private Duration exportTimeout;
+    
     /**
      * GET /api/media - Get all media from MongoDB
-     * @return List of all media documents
+     * @param fields Optional comma-separated fields to return (e.g. id,title,poster)
+     * @return List of all media documents, 400 for an unknown field
      */
     @GetMapping("/media")
-    public ResponseEntity<List<Media>> getAllMedia() {
-        List<Media> mediaList = mediaService.getAllMedia();
-        return ResponseEntity.ok(mediaList);
+    public ResponseEntity<List<?>> getAllMedia(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllMedia, mediaService::getAllMedia);
+    }
+    
+    /**
+     * GET /api/media/page?cursor=...&size=20 - Get one page of all media
+     * Keyset-paginated alternative to GET /api/media for large catalogs
+     * 
+     * @param cursor Continuation token from the previous page (omit for the first page)
+     * @param size Page size, capped at catalog.page.max-size
+     * @return Page of media with nextCursor when more items exist, 400 for a malformed cursor
+     */
+    @GetMapping("/media/page")
+    public ResponseEntity<CursorPage<Media>> getMediaPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage(null, cursor, size);
+    }
+    
+    /**
+     * GET /api/media/export - Stream the full catalog as NDJSON
+     * One JSON media document per line, written while the MongoDB cursor is read.
+     * Used by the nightly partner feed job; memory use does not grow with catalog size.
+     * The stream may run for up to catalog.export.timeout.
+     * 
+     * @param request Current request, whose async timeout is raised for the stream
+     * @return 200 with an application/x-ndjson body streamed in chunks
+     */
+    @GetMapping(value = "/media/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMedia(HttpServletRequest request) {
+        // Applied when the body starts streaming asynchronously, to this request only
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = outputStream -> mediaService.exportMediaAsNdjson(outputStream);
+        return ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
     
     /**
@@ -53,44 +107,91 @@ public class MediaController {
     
     /**
      * GET /api/media/type/{type} - Get media by type (movie or tv-show)
-     * @param type The media type to filter by
+     * @param type The media type to filter by (case-insensitive; "tv-show", "TV Show" and "tv" are equivalent)
+     * @param fields Optional comma-separated fields to return
      * @return List of media matching the type
      */
     @GetMapping("/media/type/{type}")
-    public ResponseEntity<List<Media>> getMediaByType(@PathVariable String type) {
-        List<Media> mediaList = mediaService.getMediaByType(type);
-        return ResponseEntity.ok(mediaList);
+    public ResponseEntity<List<?>> getMediaByType(@PathVariable String type,
+                                                  @RequestParam(required = false) String fields) {
+        return listing(fields, () -> mediaService.getMediaByType(type),
+                requested -> mediaService.getMediaByType(type, requested));
+    }
+    
+    /**
+     * GET /api/media/type/{type}/page?cursor=...&size=20 - Get one page of media by type
+     * @param type The media type to filter by
+     * @param cursor Continuation token from the previous page (omit for the first page)
+     * @param size Page size, capped at catalog.page.max-size
+     * @return Page of media matching the type
+     */
+    @GetMapping("/media/type/{type}/page")
+    public ResponseEntity<CursorPage<Media>> getMediaPageByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage(type, cursor, size);
     }
     
     /**
      * GET /api/media/search?title=keyword - Search media by title
      * @param title The title keyword to search for
+     * @param fields Optional comma-separated fields to return
      * @return List of media with matching titles
      */
     @GetMapping("/media/search")
-    public ResponseEntity<List<Media>> searchMedia(@RequestParam String title) {
-        List<Media> mediaList = mediaService.searchMediaByTitle(title);
-        return ResponseEntity.ok(mediaList);
+    public ResponseEntity<List<?>> searchMedia(@RequestParam String title,
+                                               @RequestParam(required = false) String fields) {
+        return listing(fields, () -> mediaService.searchMediaByTitle(title),
+                requested -> mediaService.searchMediaByTitle(title, requested));
     }
     
     /**
      * GET /api/movies - Get all movies from MongoDB
+     * @param fields Optional comma-separated fields to return (the grids use id,title,type,poster,rent,buy)
      * @return List of all movie documents
      */
     @GetMapping("/movies")
-    public ResponseEntity<List<Media>> getAllMovies() {
-        List<Media> movies = mediaService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<List<?>> getAllMovies(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllMovies,
+                requested -> mediaService.getMediaByType("movie", requested));
+    }
+    
+    /**
+     * GET /api/movies/page?cursor=...&size=20 - Get one page of movies
+     * @param cursor Continuation token from the previous page (omit for the first page)
+     * @param size Page size, capped at catalog.page.max-size
+     * @return Page of movie documents
+     */
+    @GetMapping("/movies/page")
+    public ResponseEntity<CursorPage<Media>> getMoviesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage("movie", cursor, size);
     }
     
     /**
      * GET /api/tvshows - Get all TV shows from MongoDB
+     * @param fields Optional comma-separated fields to return
      * @return List of all TV show documents
      */
     @GetMapping("/tvshows")
-    public ResponseEntity<List<Media>> getAllTVShows() {
-        List<Media> tvShows = mediaService.getAllTVShows();
-        return ResponseEntity.ok(tvShows);
+    public ResponseEntity<List<?>> getAllTVShows(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllTVShows,
+                requested -> mediaService.getMediaByType("tv-show", requested));
+    }
+    
+    /**
+     * GET /api/tvshows/page?cursor=...&size=20 - Get one page of TV shows
+     * @param cursor Continuation token from the previous page (omit for the first page)
+     * @param size Page size, capped at catalog.page.max-size
+     * @return Page of TV show documents
+     */
+    @GetMapping("/tvshows/page")
+    public ResponseEntity<CursorPage<Media>> getTVShowsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage("tv-show", cursor, size);
     }
     
     /**
@@ -170,4 +271,28 @@ public class MediaController {
         List<Media> mediaList = mediaService.getMediaByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(mediaList);
     }
+    
+    // Shared handling for the list endpoints: full documents unless ?fields= asks for a sparse fieldset
+    private ResponseEntity<List<?>> listing(String fields, Supplier<List<Media>> full,
+                                            Function<Set<String>, List<MediaSummary>> sparse) {
+        if (fields == null) {
+            return ResponseEntity.ok(full.get());
+        }
+        Set<String> requested;
+        try {
+            requested = MediaSummary.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(sparse.apply(requested));
+    }
+    
+    // Shared handling for the paginated endpoints: malformed cursors are client errors
+    private ResponseEntity<CursorPage<Media>> mediaPage(String type, String cursor, Integer size) {
+        try {
+            return ResponseEntity.ok(mediaService.getMediaPage(type, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.bhrugu.api.restapi.controller;
+
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.service.AdminAccess;
+import com.bhrugu.api.restapi.service.MediaBulkService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import java.io.InputStream;
+
+/**
+ * REST Controller for catalog administration ("reactive" profile)
+ * Same URL surface, parameters and status codes as AdminController.
+ *
+ * The handlers stay blocking: ReactiveWebConfig runs them on the application
+ * task executor, never on an event loop. The import body arrives as a stream
+ * of buffers and is bridged to an InputStream that requests more buffers as
+ * MediaBulkService reads, so large imports are still never held in memory.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Profile("reactive")
+public class ReactiveAdminController {
+
+    // Buffers requested from Netty ahead of the reader
+    private static final int IMPORT_PREFETCH = 16;
+
+    // Bulk ingestion path shared with the startup data initializers
+    @Autowired
+    private MediaBulkService mediaBulkService;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    /**
+     * POST /api/admin/media/import - Bulk import media
+     * Accepts a JSON array of media documents or NDJSON, one document per line
+     * (the format produced by GET /api/media/export). Only for admins, see AdminAccess.
+     *
+     * @param authorization Authorization header with an admin's bearer token
+     * @param body Request body buffers, read incrementally in batches
+     * @return ApiResponse with inserted/failed counts, 400 if the body is not valid JSON,
+     *         401 without a valid session, 403 for a non-admin
+     */
+    @PostMapping(value = "/media/import", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<BulkImportResult>> importMedia(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody Flux<DataBuffer> body) {
+        HttpStatus denied = adminAccess.deny(authorization);
+        if (denied != null) {
+            return ResponseEntity.status(denied).body(ApiResponse.error("Admin session required", denied.value()));
+        }
+        try (InputStream input = DataBufferUtils.subscriberInputStream(body, IMPORT_PREFETCH)) {
+            BulkImportResult result = mediaBulkService.importMedia(input);
+            String message = "Imported " + result.getInserted() + " of " + result.getReceived() + " media items";
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid import body: " + e.getOriginalMessage(), 400));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(ApiResponse.error("Failed to import media: " + e.getMessage(), 500));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.bhrugu.api.restapi.controller;
+
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSummary;
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.service.ReactiveMediaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking REST Controller for Media operations ("reactive" profile)
+ * Same URL surface, parameters and status codes as MediaController, served by
+ * WebFlux on Netty event-loop threads. List endpoints stream a JSON array
+ * element by element straight from the MongoDB cursor, with backpressure:
+ * nothing is buffered beyond the driver's current batch.
+ *
+ * Only one of the two controllers is registered: this one with
+ * --spring.profiles.active=reactive, MediaController otherwise.
+ */
+@RestController
+@RequestMapping("/api")
+@Profile("reactive")
+public class ReactiveMediaController {
+    
+    @Autowired
+    private ReactiveMediaService mediaService;
+    
+    /**
+     * GET /api/media - Get all media
+     * @param fields Optional comma-separated fields to return (e.g. id,title,poster)
+     * @return Stream of all media documents, 400 for an unknown field
+     */
+    @GetMapping("/media")
+    public ResponseEntity<Flux<?>> getAllMedia(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllMedia, mediaService::getAllMedia);
+    }
+    
+    /**
+     * GET /api/media/page?cursor=...&size=20 - Get one page of all media
+     */
+    @GetMapping("/media/page")
+    public Mono<ResponseEntity<CursorPage<Media>>> getMediaPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage(null, cursor, size);
+    }
+    
+    /**
+     * GET /api/media/export - Stream the full catalog as NDJSON
+     * Each document is written as soon as the cursor yields it; a slow reader
+     * holds the cursor back instead of growing a buffer.
+     */
+    @GetMapping(value = "/media/export", produces = "application/x-ndjson")
+    public Flux<Media> exportMedia() {
+        return mediaService.exportMedia();
+    }
+    
+    /**
+     * GET /api/media/{id} - Get media by MongoDB ObjectId
+     * @return Media document if found, 404 if not found
+     */
+    @GetMapping("/media/{id}")
+    public Mono<ResponseEntity<Media>> getMediaById(@PathVariable String id) {
+        return mediaService.getMediaById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * GET /api/media/type/{type} - Get media by type (movie or tv-show)
+     */
+    @GetMapping("/media/type/{type}")
+    public ResponseEntity<Flux<?>> getMediaByType(@PathVariable String type,
+                                                  @RequestParam(required = false) String fields) {
+        return listing(fields, () -> mediaService.getMediaByType(type),
+                requested -> mediaService.getMediaByType(type, requested));
+    }
+    
+    /**
+     * GET /api/media/type/{type}/page?cursor=...&size=20 - Get one page of media by type
+     */
+    @GetMapping("/media/type/{type}/page")
+    public Mono<ResponseEntity<CursorPage<Media>>> getMediaPageByType(
+            @PathVariable String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage(type, cursor, size);
+    }
+    
+    /**
+     * GET /api/media/search?title=keyword - Search media by title
+     */
+    @GetMapping("/media/search")
+    public ResponseEntity<Flux<?>> searchMedia(@RequestParam String title,
+                                               @RequestParam(required = false) String fields) {
+        return listing(fields, () -> mediaService.searchMediaByTitle(title),
+                requested -> mediaService.searchMediaByTitle(title, requested));
+    }
+    
+    /**
+     * GET /api/movies - Get all movies
+     */
+    @GetMapping("/movies")
+    public ResponseEntity<Flux<?>> getAllMovies(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllMovies,
+                requested -> mediaService.getMediaByType("movie", requested));
+    }
+    
+    /**
+     * GET /api/movies/page?cursor=...&size=20 - Get one page of movies
+     */
+    @GetMapping("/movies/page")
+    public Mono<ResponseEntity<CursorPage<Media>>> getMoviesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage("movie", cursor, size);
+    }
+    
+    /**
+     * GET /api/tvshows - Get all TV shows
+     */
+    @GetMapping("/tvshows")
+    public ResponseEntity<Flux<?>> getAllTVShows(@RequestParam(required = false) String fields) {
+        return listing(fields, mediaService::getAllTVShows,
+                requested -> mediaService.getMediaByType("tv-show", requested));
+    }
+    
+    /**
+     * GET /api/tvshows/page?cursor=...&size=20 - Get one page of TV shows
+     */
+    @GetMapping("/tvshows/page")
+    public Mono<ResponseEntity<CursorPage<Media>>> getTVShowsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return mediaPage("tv-show", cursor, size);
+    }
+    
+    /**
+     * POST /api/media - Create new media
+     * @return 201 Created with the saved media including generated MongoDB _id
+     */
+    @PostMapping("/media")
+    public Mono<ResponseEntity<Media>> createMedia(@RequestBody Media media) {
+        return mediaService.saveMedia(media)
+                .map(savedMedia -> ResponseEntity.status(HttpStatus.CREATED).body(savedMedia));
+    }
+    
+    /**
+     * PUT /api/media/{id} - Update existing media
+     * @return Updated media or 404 if not found
+     */
+    @PutMapping("/media/{id}")
+    public Mono<ResponseEntity<Media>> updateMedia(@PathVariable String id, @RequestBody Media mediaDetails) {
+        return mediaService.updateMedia(id, mediaDetails)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * DELETE /api/media/{id} - Delete media
+     * @return 204 No Content if deleted successfully, 404 if media not found
+     */
+    @DeleteMapping("/media/{id}")
+    public Mono<ResponseEntity<Void>> deleteMedia(@PathVariable String id) {
+        return mediaService.deleteMedia(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+    
+    /**
+     * GET /api/media/price?minPrice=5.0&maxPrice=20.0 - Get media by price range
+     */
+    @GetMapping("/media/price")
+    public Flux<Media> getMediaByPriceRange(
+            @RequestParam Double minPrice,
+            @RequestParam Double maxPrice) {
+        return mediaService.getMediaByPriceRange(minPrice, maxPrice);
+    }
+    
+    // Shared handling for the list endpoints: full documents unless ?fields= asks for a sparse fieldset
+    private ResponseEntity<Flux<?>> listing(String fields, Supplier<Flux<Media>> full,
+                                            Function<Set<String>, Flux<MediaSummary>> sparse) {
+        if (fields == null) {
+            return ResponseEntity.ok(full.get());
+        }
+        Set<String> requested;
+        try {
+            requested = MediaSummary.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(sparse.apply(requested));
+    }
+    
+    // Shared handling for the paginated endpoints: malformed cursors are client errors
+    private Mono<ResponseEntity<CursorPage<Media>>> mediaPage(String type, String cursor, Integer size) {
+        return mediaService.getMediaPage(type, cursor, size)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse media representation for ?fields= listings
+ * Only the requested fields are serialized; everything else is omitted
+ * rather than sent as null, so a grid asking for id,title,poster,rent,buy
+ * gets exactly those keys.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MediaSummary {
+
+    /** Media properties a client may request, in JSON (not MongoDB) naming */
+    public static final List<String> FIELDS = Collections.unmodifiableList(Arrays.asList(
+            "id", "title", "type", "synopsis", "poster", "posterLarge", "rent", "buy"));
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("synopsis")
+    private String synopsis;
+
+    @JsonProperty("poster")
+    private String poster;
+
+    @JsonProperty("posterLarge")
+    private String posterLarge;
+
+    @JsonProperty("rent")
+    private Double rent;
+
+    @JsonProperty("buy")
+    private Double buy;
+
+    // Default constructor
+    public MediaSummary() {}
+
+    /**
+     * Copy the requested fields of a (possibly projected) media document
+     * @param media The media document
+     * @param fields Field names as returned by parseFields
+     * @return Summary carrying only those fields
+     */
+    public static MediaSummary of(Media media, Set<String> fields) {
+        MediaSummary summary = new MediaSummary();
+        summary.id = fields.contains("id") ? media.getId() : null;
+        summary.title = fields.contains("title") ? media.getTitle() : null;
+        summary.type = fields.contains("type") ? media.getType() : null;
+        summary.synopsis = fields.contains("synopsis") ? media.getSynopsis() : null;
+        summary.poster = fields.contains("poster") ? media.getPoster() : null;
+        summary.posterLarge = fields.contains("posterLarge") ? media.getPosterLarge() : null;
+        summary.rent = fields.contains("rent") ? media.getRent() : null;
+        summary.buy = fields.contains("buy") ? media.getBuy() : null;
+        return summary;
+    }
+
+    /**
+     * Parse a ?fields= value
+     * @param fields Comma-separated field names, e.g. "id,title,poster,rent,buy"
+     * @return The requested field names, in request order
+     * @throws IllegalArgumentException if the list is empty or names an unknown field
+     */
+    public static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            parsed.add(name);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return parsed;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public String getType() { return type; }
+    public String getSynopsis() { return synopsis; }
+    public String getPoster() { return poster; }
+    public String getPosterLarge() { return posterLarge; }
+    public Double getRent() { return rent; }
+    public Double getBuy() { return buy; }
+}
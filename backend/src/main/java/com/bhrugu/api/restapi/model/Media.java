@@ -1,6 +1,8 @@
 package com.bhrugu.api.restapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,7 +14,7 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * - Collection: media-catalog
  * - Database: streamvault-db
  */
-@Document(collection = "media-catalog")
+@Document(collection = MediaCollection.NAME)
 public class Media {
     
     /**
@@ -29,10 +31,10 @@ public class Media {
     private String title;
     
     /**
-     * Type of media content ("movie" or "tv-show")
+     * Type of media content, stored as its canonical code ("movie" or "tv")
      */
     @Field("type")
-    private String type;
+    private MediaType type;
     
     /**
      * Brief description/synopsis of the content
@@ -53,16 +55,28 @@ public class Media {
     private String posterLarge;
     
     /**
-     * Rental price for the media
+     * Rental price for the media, in cents
      */
-    @Field("rent")
-    private Double rent;
+    @Field("rentCents")
+    private Long rent;
     
     /**
-     * Purchase price for the media
+     * Purchase price for the media, in cents
      */
+    @Field("buyCents")
+    private Long buy;
+    
+    /**
+     * Prices from documents written before PriceCentsMigration, which kept
+     * decimal amounts in rent/buy; read in cents and dropped on the next price change
+     */
+    @Field("rent")
+    @ValueConverter(Cents.LegacyAmountConverter.class)
+    private Long legacyRent;
+    
     @Field("buy")
-    private Double buy;
+    @ValueConverter(Cents.LegacyAmountConverter.class)
+    private Long legacyBuy;
     
     // Default constructor required by MongoDB
     public Media() {}
@@ -70,12 +84,12 @@ public class Media {
     // Constructor with parameters
     public Media(String title, String type, String synopsis, String poster, String posterLarge, Double rent, Double buy) {
         this.title = title;
-        this.type = type;
+        setType(type);
         this.synopsis = synopsis;
         this.poster = poster;
         this.posterLarge = posterLarge;
-        this.rent = rent;
-        this.buy = buy;
+        setRent(rent);
+        setBuy(buy);
     }
     
     // Getters and Setters
@@ -85,8 +99,26 @@ public class Media {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    // JSON carries the type as a string label; unknown strings are rejected
+    public String getType() { return type == null ? null : label(type); }
+    public void setType(String type) {
+        MediaType parsed = MediaType.parse(type);
+        if (type != null && parsed == null) {
+            throw new IllegalArgumentException("Unknown media type: " + type);
+        }
+        this.type = parsed;
+    }
+    
+    /**
+     * @return The type string this service uses in API responses ("movie" / "tv-show")
+     */
+    public static String label(MediaType type) {
+        return type == MediaType.MOVIE ? "movie" : "tv-show";
+    }
+    
+    @JsonIgnore
+    public MediaType getMediaType() { return type; }
+    public void setMediaType(MediaType type) { this.type = type; }
     
     public String getSynopsis() { return synopsis; }
     public void setSynopsis(String synopsis) { this.synopsis = synopsis; }
@@ -97,9 +129,24 @@ public class Media {
     public String getPosterLarge() { return posterLarge; }
     public void setPosterLarge(String posterLarge) { this.posterLarge = posterLarge; }
     
-    public Double getRent() { return rent; }
-    public void setRent(Double rent) { this.rent = rent; }
+    // JSON carries prices as decimal amounts
+    public Double getRent() { return Cents.toAmount(getRentCents()); }
+    public void setRent(Double rent) { setRentCents(Cents.fromAmount(rent)); }
+    
+    public Double getBuy() { return Cents.toAmount(getBuyCents()); }
+    public void setBuy(Double buy) { setBuyCents(Cents.fromAmount(buy)); }
     
-    public Double getBuy() { return buy; }
-    public void setBuy(Double buy) { this.buy = buy; }
+    @JsonIgnore
+    public Long getRentCents() { return rent != null ? rent : legacyRent; }
+    public void setRentCents(Long rent) {
+        this.rent = rent;
+        this.legacyRent = null;
+    }
+    
+    @JsonIgnore
+    public Long getBuyCents() { return buy != null ? buy : legacyBuy; }
+    public void setBuyCents(Long buy) {
+        this.buy = buy;
+        this.legacyBuy = null;
+    }
 }
@@ -0,0 +1,40 @@
+package com.bhrugu.api.restapi.repository;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Projected media queries for sparse fieldsets (?fields=)
+ * MongoDB returns only the requested fields (plus _id), so list pages that
+ * need a handful of fields do not pull synopses and poster URLs over the wire.
+ * Fields are Media property names; unrequested properties are left null.
+ *
+ * Mixed into MediaRepository; implemented by MediaProjectionRepositoryImpl.
+ */
+public interface MediaProjectionRepository {
+    
+    /**
+     * Find all media, returning only the given fields
+     * @param fields Media property names to include
+     * @return List of partially populated media documents
+     */
+    List<Media> findAllWithFields(Collection<String> fields);
+    
+    /**
+     * Find media by type, returning only the given fields
+     * @param type The media type to filter by
+     * @param fields Media property names to include
+     * @return List of partially populated media documents
+     */
+    List<Media> findByTypeWithFields(MediaType type, Collection<String> fields);
+    
+    /**
+     * Find media by title containing a keyword (case-insensitive), returning only the given fields
+     * @param title The title keyword to search for
+     * @param fields Media property names to include
+     * @return List of partially populated media documents
+     */
+    List<Media> findByTitleContainingIgnoreCaseWithFields(String title, Collection<String> fields);
+}
@@ -0,0 +1,52 @@
+package com.bhrugu.api.restapi.repository;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * MongoTemplate implementation of MediaProjectionRepository
+ * Derived queries cannot take a projection chosen at runtime, so these build
+ * the Query directly; property names are mapped to document fields
+ * (e.g. posterLarge to poster_large) by MongoTemplate.
+ */
+public class MediaProjectionRepositoryImpl implements MediaProjectionRepository {
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Override
+    public List<Media> findAllWithFields(Collection<String> fields) {
+        return mongoTemplate.find(project(new Query(), fields), Media.class);
+    }
+    
+    @Override
+    public List<Media> findByTypeWithFields(MediaType type, Collection<String> fields) {
+        return mongoTemplate.find(project(Query.query(Criteria.where("type").is(type)), fields), Media.class);
+    }
+    
+    @Override
+    public List<Media> findByTitleContainingIgnoreCaseWithFields(String title, Collection<String> fields) {
+        // Same unanchored, case-insensitive regex the derived findByTitleContainingIgnoreCase builds
+        Query query = Query.query(Criteria.where("title").regex(Pattern.quote(title), "i"));
+        return mongoTemplate.find(project(query, fields), Media.class);
+    }
+    
+    private static Query project(Query query, Collection<String> fields) {
+        query.fields().include(fields.toArray(new String[0]));
+        // Documents PriceCentsMigration has not reached yet keep their price in the legacy fields
+        if (fields.contains("rent")) {
+            query.fields().include("legacyRent");
+        }
+        if (fields.contains("buy")) {
+            query.fields().include("legacyBuy");
+        }
+        return query;
+    }
+}
@@ -1,27 +1,32 @@
 package com.bhrugu.api.restapi.repository;
 
 import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * MongoDB Repository for Media Documents
  * Extends MongoRepository for MongoDB operations
+ * Projected queries for ?fields= come from MediaProjectionRepository
  * 
  * Collection: media-catalog
  * Database: streamvault-db
  */
 @Repository
-public interface MediaRepository extends MongoRepository<Media, String> {
+public interface MediaRepository extends MongoRepository<Media, String>, MediaProjectionRepository {
     
     /**
-     * Find all media by type (movie or tv-show)
-     * @param type The media type to search for
+     * Find all media by type
+     * @param type The media type to search for (queried by its stored code)
      * @return List of media matching the type
      */
-    List<Media> findByType(String type);
+    List<Media> findByType(MediaType type);
     
     /**
      * Find media by title containing a keyword (case-insensitive)
@@ -41,15 +46,59 @@ public interface MediaRepository extends MongoRepository<Media, String> {
      * Find all TV shows using MongoDB query
      * @return List of all TV show documents
      */
-    @Query("{ 'type': 'tv-show' }")
+    @Query("{ 'type': 'tv' }")
     List<Media> findAllTVShows();
     
     /**
      * Find media by price range
-     * @param minPrice Minimum price
-     * @param maxPrice Maximum price
+     * buyCents is stored as long cents, so this is an exact integer range scan on the buyCents index
+     * @param minCents Minimum buy price in cents
+     * @param maxCents Maximum buy price in cents
      * @return List of media within price range
      */
-    @Query("{ 'buy': { $gte: ?0, $lte: ?1 } }")
-    List<Media> findByPriceRange(Double minPrice, Double maxPrice);
+    @Query("{ 'buyCents': { $gte: ?0, $lte: ?1 } }")
+    List<Media> findByPriceRange(long minCents, long maxCents);
+    
+    /**
+     * Keyset pagination: first page of all media ordered by _id
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents
+     */
+    List<Media> findAllByOrderByIdAsc(Pageable pageable);
+    
+    /**
+     * Keyset pagination: next page of all media after the given _id
+     * Served from the _id index, so cost does not grow with the page position
+     * @param id The last _id of the previous page
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents with _id greater than id
+     */
+    List<Media> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+    
+    /**
+     * Keyset pagination: first page of media of one type ordered by _id
+     * @param type The media type to filter by
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents of the type
+     */
+    List<Media> findByTypeOrderByIdAsc(MediaType type, Pageable pageable);
+    
+    /**
+     * Keyset pagination: next page of media of one type after the given _id
+     * @param type The media type to filter by
+     * @param id The last _id of the previous page
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents of the type with _id greater than id
+     */
+    List<Media> findByTypeAndIdGreaterThanOrderByIdAsc(MediaType type, String id, Pageable pageable);
+    
+    /**
+     * Stream every media document through a MongoDB cursor
+     * Documents are fetched in batches of 500 as the stream is consumed,
+     * so the full catalog is never held in memory at once.
+     * The caller must close the stream (try-with-resources) to release the cursor.
+     * @return Cursor-backed stream of all media ordered by _id
+     */
+    @Meta(cursorBatchSize = 500)
+    Stream<Media> streamAllByOrderByIdAsc();
 }
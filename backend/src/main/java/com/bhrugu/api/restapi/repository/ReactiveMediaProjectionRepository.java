@@ -0,0 +1,38 @@
+package com.bhrugu.api.restapi.repository;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import reactor.core.publisher.Flux;
+import java.util.Collection;
+
+/**
+ * Reactive projected media queries for sparse fieldsets (?fields=)
+ * Same contract as MediaProjectionRepository, emitting documents as they arrive.
+ *
+ * Mixed into ReactiveMediaRepository; implemented by ReactiveMediaProjectionRepositoryImpl.
+ */
+public interface ReactiveMediaProjectionRepository {
+    
+    /**
+     * Find all media, returning only the given fields
+     * @param fields Media property names to include
+     * @return Partially populated media documents
+     */
+    Flux<Media> findAllWithFields(Collection<String> fields);
+    
+    /**
+     * Find media by type, returning only the given fields
+     * @param type The media type to filter by
+     * @param fields Media property names to include
+     * @return Partially populated media documents
+     */
+    Flux<Media> findByTypeWithFields(MediaType type, Collection<String> fields);
+    
+    /**
+     * Find media by title (case-insensitive substring), returning only the given fields
+     * @param title The title keyword to search for
+     * @param fields Media property names to include
+     * @return Partially populated media documents
+     */
+    Flux<Media> findByTitleContainingIgnoreCaseWithFields(String title, Collection<String> fields);
+}
@@ -0,0 +1,49 @@
+package com.bhrugu.api.restapi.repository;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * ReactiveMongoTemplate implementation of ReactiveMediaProjectionRepository
+ * Mirrors MediaProjectionRepositoryImpl query for query.
+ */
+public class ReactiveMediaProjectionRepositoryImpl implements ReactiveMediaProjectionRepository {
+    
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+    
+    @Override
+    public Flux<Media> findAllWithFields(Collection<String> fields) {
+        return mongoTemplate.find(project(new Query(), fields), Media.class);
+    }
+    
+    @Override
+    public Flux<Media> findByTypeWithFields(MediaType type, Collection<String> fields) {
+        return mongoTemplate.find(project(Query.query(Criteria.where("type").is(type)), fields), Media.class);
+    }
+    
+    @Override
+    public Flux<Media> findByTitleContainingIgnoreCaseWithFields(String title, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("title").regex(Pattern.quote(title), "i"));
+        return mongoTemplate.find(project(query, fields), Media.class);
+    }
+    
+    private static Query project(Query query, Collection<String> fields) {
+        query.fields().include(fields.toArray(new String[0]));
+        // Documents PriceCentsMigration has not reached yet keep their price in the legacy fields
+        if (fields.contains("rent")) {
+            query.fields().include("legacyRent");
+        }
+        if (fields.contains("buy")) {
+            query.fields().include("legacyBuy");
+        }
+        return query;
+    }
+}
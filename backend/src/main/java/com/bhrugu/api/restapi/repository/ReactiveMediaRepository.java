@@ -0,0 +1,100 @@
+package com.bhrugu.api.restapi.repository;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive MongoDB Repository for Media Documents
+ * Non-blocking counterpart of MediaRepository, used by the "reactive" profile.
+ * Every Flux is backed by a driver cursor: documents are requested in batches
+ * as the subscriber signals demand, so a slow client slows the cursor down
+ * instead of piling documents up in memory.
+ * Projected queries for ?fields= come from ReactiveMediaProjectionRepository
+ * 
+ * Collection: media-catalog
+ */
+@Repository
+public interface ReactiveMediaRepository extends ReactiveMongoRepository<Media, String>, ReactiveMediaProjectionRepository {
+    
+    /**
+     * Find all media by type
+     * @param type The media type to search for (queried by its stored code)
+     * @return Media matching the type
+     */
+    Flux<Media> findByType(MediaType type);
+    
+    /**
+     * Find media by title containing a keyword (case-insensitive)
+     * @param title The title keyword to search for
+     * @return Media with matching titles
+     */
+    Flux<Media> findByTitleContainingIgnoreCase(String title);
+    
+    /**
+     * Find all movies
+     * @return All movie documents
+     */
+    @Query("{ 'type': 'movie' }")
+    Flux<Media> findAllMovies();
+    
+    /**
+     * Find all TV shows
+     * @return All TV show documents
+     */
+    @Query("{ 'type': 'tv' }")
+    Flux<Media> findAllTVShows();
+    
+    /**
+     * Find media by price range
+     * @param minCents Minimum buy price in cents
+     * @param maxCents Maximum buy price in cents
+     * @return Media within the price range
+     */
+    @Query("{ 'buyCents': { $gte: ?0, $lte: ?1 } }")
+    Flux<Media> findByPriceRange(long minCents, long maxCents);
+    
+    /**
+     * Keyset pagination: first page of all media ordered by _id
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents
+     */
+    Flux<Media> findAllByOrderByIdAsc(Pageable pageable);
+    
+    /**
+     * Keyset pagination: next page of all media after the given _id
+     * @param id The last _id of the previous page
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents with _id greater than id
+     */
+    Flux<Media> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
+    
+    /**
+     * Keyset pagination: first page of media of one type ordered by _id
+     * @param type The media type to filter by
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents of the type
+     */
+    Flux<Media> findByTypeOrderByIdAsc(MediaType type, Pageable pageable);
+    
+    /**
+     * Keyset pagination: next page of media of one type after the given _id
+     * @param type The media type to filter by
+     * @param id The last _id of the previous page
+     * @param pageable Page request carrying the page size (page number is always 0)
+     * @return Up to pageable.getPageSize() media documents of the type with _id greater than id
+     */
+    Flux<Media> findByTypeAndIdGreaterThanOrderByIdAsc(MediaType type, String id, Pageable pageable);
+    
+    /**
+     * Stream every media document ordered by _id, 500 documents per cursor batch
+     * @return All media, emitted as the subscriber requests them
+     */
+    @Meta(cursorBatchSize = 500)
+    Flux<Media> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,44 @@
+package com.bhrugu.api.restapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Who may call /api/admin
+ * The caller needs a valid session token (Authorization: Bearer) whose
+ * customer id is listed in auth.admin.customer-ids. Customers have no role,
+ * and anyone can register one, so a session alone is not enough. With the
+ * list empty (the default) every admin operation is refused.
+ */
+@Component
+public class AdminAccess {
+
+    private final SessionTokenService sessionTokens;
+    private final Set<String> adminIds;
+
+    public AdminAccess(SessionTokenService sessionTokens,
+                       @Value("${auth.admin.customer-ids:}") String adminIds) {
+        this.sessionTokens = sessionTokens;
+        this.adminIds = Arrays.stream(adminIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Check the caller of an admin operation
+     * @param authorization Authorization header with the bearer token
+     * @return null if the caller is an admin, otherwise 401 (no valid session) or 403
+     */
+    public HttpStatus deny(String authorization) {
+        SessionTokenService.Session session = sessionTokens.verify(SessionTokenService.bearerToken(authorization));
+        if (session == null) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        return adminIds.contains(session.getSubjectId()) ? null : HttpStatus.FORBIDDEN;
+    }
+}
@@ -22,6 +22,10 @@ public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
     
+    // Buffers lastLogin updates and writes them to MongoDB in periodic bulk flushes
+    @Autowired
+    private LastLoginWriteBehind lastLoginWriteBehind;
+    
     public CustomerService() {
         // Constructor without password encoder for demo purposes
     }
@@ -93,15 +97,16 @@ public class CustomerService {
                 return ApiResponse.error("Invalid email or password", 401);
             }
             
-            // Update last login timestamp
-            updateLastLogin(customer.getId());
+            // Update last login timestamp (buffered, written in the next bulk flush)
+            LocalDateTime loginTime = LocalDateTime.now();
+            lastLoginWriteBehind.record(customer.getId(), loginTime);
             
             // Create response without password
             Customer responseCustomer = new Customer();
             responseCustomer.setId(customer.getId());
             responseCustomer.setFullName(customer.getFullName());
             responseCustomer.setEmail(customer.getEmail());
-            responseCustomer.setLastLogin(LocalDateTime.now());
+            responseCustomer.setLastLogin(loginTime);
             
             return ApiResponse.success("Login successful", responseCustomer, 200);
             
@@ -176,15 +181,11 @@ public class CustomerService {
     
     /**
      * Update customer last login timestamp
+     * Recorded in the write-behind buffer; MongoDB is updated by the next flush
      * @param customerId The customer ID
      */
     public void updateLastLogin(String customerId) {
-        Optional<Customer> customerOpt = customerRepository.findById(customerId);
-        if (customerOpt.isPresent()) {
-            Customer customer = customerOpt.get();
-            customer.setLastLogin(LocalDateTime.now());
-            customerRepository.save(customer);
-        }
+        lastLoginWriteBehind.record(customerId, LocalDateTime.now());
     }
     
     /**
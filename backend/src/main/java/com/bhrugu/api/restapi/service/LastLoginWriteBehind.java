@@ -0,0 +1,147 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Customer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for customer lastLogin timestamps
+ * Logins only record a timestamp in memory; a background flush writes all
+ * pending timestamps as one unordered bulk of $set updates.
+ *
+ * - Repeated logins by the same customer between flushes coalesce to one update
+ * - The buffer is flushed every customer.last-login.flush-interval-ms, or as soon
+ *   as it holds customer.last-login.max-buffer customers
+ * - Pending timestamps are flushed on shutdown unless
+ *   customer.last-login.flush-on-shutdown is false
+ *
+ * lastLogin as stored in MongoDB therefore trails real logins by up to one interval.
+ */
+@Component
+public class LastLoginWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginWriteBehind.class);
+
+    // Template access is needed for bulk partial updates; the repository only saves whole documents
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Customers buffered before a login triggers an early flush
+    @Value("${customer.last-login.max-buffer:10000}")
+    private int maxBuffer;
+
+    @Value("${customer.last-login.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    // Latest pending login time per customer id
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    // Only one flush talks to MongoDB at a time
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Early flushes triggered by a full buffer run here, at most one queued at a time
+    private final ExecutorService earlyFlushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+
+    /**
+     * Record a successful login
+     * @param customerId The customer ID
+     * @param loginTime The login timestamp
+     */
+    public void record(String customerId, LocalDateTime loginTime) {
+        pending.merge(customerId, loginTime, LastLoginWriteBehind::latest);
+        if (pending.size() >= maxBuffer && earlyFlushQueued.compareAndSet(false, true)) {
+            // Buffer is full: flush now, but never on the login's request thread
+            earlyFlushExecutor.execute(() -> {
+                earlyFlushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Periodic flush of all pending timestamps
+     */
+    @Scheduled(fixedDelayString = "${customer.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write remaining timestamps before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        earlyFlushExecutor.shutdown();
+        if (flushOnShutdown && !pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Number of customers waiting to be written
+     * @return Pending buffer size
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void drainAndWrite() {
+        // Remove entry by entry: a login racing with the drain lands in the next flush
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String customerId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(customerId);
+            if (loginTime != null) {
+                batch.put(customerId, loginTime);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class);
+        for (Map.Entry<String, LocalDateTime> entry : batch.entrySet()) {
+            operations.updateOne(Query.query(Criteria.where("_id").is(entry.getKey())),
+                    Update.update("lastLogin", entry.getValue()));
+        }
+        try {
+            operations.execute();
+            log.debug("Flushed lastLogin for {} customers", batch.size());
+        } catch (Exception e) {
+            // Put the timestamps back (unless a newer login arrived) and retry on the next flush
+            batch.forEach((customerId, loginTime) -> pending.merge(customerId, loginTime, LastLoginWriteBehind::latest));
+            log.warn("lastLogin flush of {} customers failed, will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return b.isAfter(a) ? b : a;
+    }
+}
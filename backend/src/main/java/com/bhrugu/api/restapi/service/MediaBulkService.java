@@ -0,0 +1,128 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.model.Media;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk ingestion of media documents
+ * Used by the startup data initializers and the admin import endpoint
+ *
+ * Documents are sent to MongoDB as unordered bulk inserts of catalog.bulk.batch-size
+ * documents each, so seeding N items costs N / batch-size round-trips instead of N.
+ * Unordered writes let the server keep going past a bad document (e.g. a duplicate id)
+ * instead of aborting the rest of the batch.
+ *
+ * Every id in a written batch is dropped from MediaDetailCache afterwards, so an
+ * import never leaves an older copy of a document being served.
+ */
+@Service
+public class MediaBulkService {
+
+    // Template access is needed for bulkOps; the repository only exposes ordered inserts
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Spring's configured mapper, so imported JSON is read the way the REST API writes it
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MediaDetailCache detailCache;
+
+    // Documents per bulk write
+    @Value("${catalog.bulk.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Insert a list of media in unordered batches
+     * @param media The documents to insert
+     * @return Counts of inserted and failed documents
+     */
+    public BulkImportResult insertAll(List<Media> media) {
+        BulkImportResult result = new BulkImportResult();
+        for (int from = 0; from < media.size(); from += batchSize) {
+            insertBatch(media.subList(from, Math.min(from + batchSize, media.size())), result);
+        }
+        return result;
+    }
+
+    /**
+     * Import media from a JSON array or an NDJSON stream
+     * The body is read incrementally and flushed every batch, so memory use is
+     * bounded by the batch size rather than the size of the upload. Content after
+     * a top-level array is rejected rather than ignored.
+     *
+     * @param body Request body containing either [{...}, {...}] or one document per line
+     * @return Counts of inserted and failed documents
+     * @throws IOException if the body is not valid JSON
+     */
+    public BulkImportResult importMedia(InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<Media> batch = new ArrayList<>(batchSize);
+        ObjectReader reader = objectMapper.readerFor(Media.class);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                batch.add(reader.readValue(parser));
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, result);
+                    batch.clear();
+                }
+                token = parser.nextToken();
+            }
+            if (token == JsonToken.END_ARRAY && (!array || parser.nextToken() != null)) {
+                // e.g. NDJSON lines after an array, which would otherwise be dropped without an error
+                throw new JsonParseException(parser, "Unexpected content after the JSON array");
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, result);
+        }
+        return result;
+    }
+
+    /**
+     * Send one unordered bulk insert and record its outcome
+     * @param batch Documents for a single round-trip
+     * @param result Running totals for the whole import
+     */
+    private void insertBatch(List<Media> batch, BulkImportResult result) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+        operations.insert(batch);
+
+        int failed = 0;
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: every document without an error here was written
+            failed = e.getErrors().size();
+            for (BulkWriteError error : e.getErrors()) {
+                result.addError(batch.get(error.getIndex()).getTitle() + ": " + error.getMessage());
+            }
+        }
+        result.addBatch(batch.size(), batch.size() - failed);
+        for (Media media : batch) {
+            detailCache.invalidate(media.getId());
+        }
+    }
+}
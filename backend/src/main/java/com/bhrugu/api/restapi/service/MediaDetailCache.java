@@ -0,0 +1,99 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of media documents by id, for GET /api/media/{id}
+ * Detail views follow a steep power law, so a small cache absorbs most of them.
+ * Caffeine's W-TinyLFU policy admits a new title only if it is estimated to be
+ * requested more often than the entry it would evict, so a crawl over the long
+ * tail cannot flush the popular titles.
+ *
+ * - Bounded by catalog.detail-cache.max-weight-bytes, using an estimate of
+ *   each document's heap size
+ * - Entries expire catalog.detail-cache.ttl after they were loaded, which
+ *   bounds how long a write made outside this service (another instance, a
+ *   manual fix in Atlas) can be served stale
+ * - Missing ids are not cached
+ * - MediaService invalidates an id after every update and delete, and
+ *   MediaBulkService after every bulk write. A load for an id that is being
+ *   invalidated finishes first and is then discarded, so a stale document can
+ *   never be re-cached
+ * - CatalogSeeder clears the cache when a migration rewrote documents
+ *
+ * Cached documents are shared between requests and must not be modified.
+ *
+ * Metrics (cache=media-detail): cache.gets (result=hit|miss), cache.evictions,
+ * cache.eviction.weight, cache.puts, cache.size.
+ */
+@Component
+public class MediaDetailCache {
+
+    // Object headers, references and boxed prices of a Media, plus the id string
+    private static final int MEDIA_OVERHEAD_BYTES = 160;
+
+    private final Cache<String, Media> cache;
+
+    public MediaDetailCache(MeterRegistry registry,
+                            @Value("${catalog.detail-cache.max-weight-bytes:8388608}") long maxWeightBytes,
+                            @Value("${catalog.detail-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .expireAfterWrite(ttl)
+                .weigher((String id, Media media) -> weigh(media))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "media-detail");
+    }
+
+    /**
+     * Get a document, loading it on a miss
+     * Concurrent misses for the same id share one load.
+     * @param id The MongoDB ObjectId as string
+     * @param loader Loads the document, returning null if it does not exist
+     * @return The document, or null if it does not exist
+     */
+    public Media get(String id, Function<String, Media> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Drop a document after it was updated or deleted
+     * @param id The MongoDB ObjectId as string
+     */
+    public void invalidate(String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Drop every document, e.g. after a migration rewrote the collection
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Strings are estimated at 2 bytes per char plus header, ignoring compact Latin-1 storage
+    static int weigh(Media media) {
+        int bytes = MEDIA_OVERHEAD_BYTES;
+        bytes += weigh(media.getId());
+        bytes += weigh(media.getTitle());
+        bytes += weigh(media.getSynopsis());
+        bytes += weigh(media.getPoster());
+        bytes += weigh(media.getPosterLarge());
+        return bytes;
+    }
+
+    private static int weigh(String value) {
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+}
@@ -1,11 +1,31 @@
 package com.bhrugu.api.restapi.service;
 
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSummary;
+import com.bhrugu.api.restapi.model.Cents;
 import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
 import com.bhrugu.api.restapi.repository.MediaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Media operations
@@ -16,6 +36,12 @@ import java.util.Optional;
  * - Encapsulates business logic and validation
  * - Provides clean interface for data operations
  * - Handles error cases and data transformations
+ * 
+ * The full-list queries go through SingleFlight, so a burst of identical
+ * concurrent requests (a cold /api/movies) costs one MongoDB query instead of
+ * one per request. Detail lookups are served from MediaDetailCache, which
+ * coalesces concurrent misses for the same id itself (a title linked from a
+ * campaign); every write in this service invalidates the id it wrote.
  */
 @Service
 public class MediaService {
@@ -24,12 +50,41 @@ public class MediaService {
     @Autowired
     private MediaRepository mediaRepository;
     
+    // Spring's configured mapper, so exported JSON matches the REST responses
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Number of documents written between explicit flushes to the client
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    
+    // Page size used when the client does not ask for one
+    @Value("${catalog.page.default-size:20}")
+    private int defaultPageSize;
+    
+    // Hard upper bound on page size, keeps per-request memory flat
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private MediaDetailCache detailCache;
+    
+    // Concurrent identical list reads share one query; see SingleFlight
+    private SingleFlight<String, List<Media>> listFlights;
+    
+    @PostConstruct
+    void initFlights() {
+        listFlights = new SingleFlight<>("media-list", meterRegistry);
+    }
+    
     /**
      * Get all media items from MongoDB
      * @return List of all media documents
      */
     public List<Media> getAllMedia() {
-        return mediaRepository.findAll();
+        return listFlights.execute("all", mediaRepository::findAll);
     }
     
     /**
@@ -38,16 +93,20 @@ public class MediaService {
      * @return Optional containing the media if found
      */
     public Optional<Media> getMediaById(String id) {
-        return mediaRepository.findById(id);
+        return Optional.ofNullable(detailCache.get(id, key -> mediaRepository.findById(key).orElse(null)));
     }
     
     /**
      * Get media by type (movie or tv-show)
-     * @param type The media type to filter by
-     * @return List of media matching the type
+     * @param type The media type to filter by, in any spelling MediaType.parse accepts
+     * @return List of media matching the type, empty for an unknown type
      */
     public List<Media> getMediaByType(String type) {
-        return mediaRepository.findByType(type);
+        MediaType mediaType = MediaType.parse(type);
+        if (mediaType == null) {
+            return Collections.emptyList();
+        }
+        return listFlights.execute("type:" + mediaType.getCode(), () -> mediaRepository.findByType(mediaType));
     }
     
     /**
@@ -64,7 +123,7 @@ public class MediaService {
      * @return List of all movie documents
      */
     public List<Media> getAllMovies() {
-        return mediaRepository.findAllMovies();
+        return listFlights.execute("movies", mediaRepository::findAllMovies);
     }
     
     /**
@@ -72,7 +131,48 @@ public class MediaService {
      * @return List of all TV show documents
      */
     public List<Media> getAllTVShows() {
-        return mediaRepository.findAllTVShows();
+        return listFlights.execute("tvshows", mediaRepository::findAllTVShows);
+    }
+    
+    /**
+     * Get all media with only the requested fields
+     * @param fields Field names from MediaSummary.parseFields
+     * @return Sparse media, projected in MongoDB
+     */
+    public List<MediaSummary> getAllMedia(Set<String> fields) {
+        return summarize(mediaRepository.findAllWithFields(fields), fields);
+    }
+    
+    /**
+     * Get media by type with only the requested fields
+     * @param type The media type to filter by, in any spelling MediaType.parse accepts
+     * @param fields Field names from MediaSummary.parseFields
+     * @return Sparse media, projected in MongoDB; empty for an unknown type
+     */
+    public List<MediaSummary> getMediaByType(String type, Set<String> fields) {
+        MediaType mediaType = MediaType.parse(type);
+        if (mediaType == null) {
+            return Collections.emptyList();
+        }
+        return summarize(mediaRepository.findByTypeWithFields(mediaType, fields), fields);
+    }
+    
+    /**
+     * Search media by title (case-insensitive) with only the requested fields
+     * @param title The title keyword to search for
+     * @param fields Field names from MediaSummary.parseFields
+     * @return Sparse media, projected in MongoDB
+     */
+    public List<MediaSummary> searchMediaByTitle(String title, Set<String> fields) {
+        return summarize(mediaRepository.findByTitleContainingIgnoreCaseWithFields(title, fields), fields);
+    }
+    
+    private static List<MediaSummary> summarize(List<Media> media, Set<String> fields) {
+        List<MediaSummary> summaries = new ArrayList<>(media.size());
+        for (Media item : media) {
+            summaries.add(MediaSummary.of(item, fields));
+        }
+        return summaries;
     }
     
     /**
@@ -81,7 +181,10 @@ public class MediaService {
      * @return The saved media with generated ID
      */
     public Media saveMedia(Media media) {
-        return mediaRepository.save(media);
+        Media saved = mediaRepository.save(media);
+        // A POST carrying an existing id replaces that document
+        detailCache.invalidate(saved.getId());
+        return saved;
     }
     
     /**
@@ -101,7 +204,9 @@ public class MediaService {
             media.setPosterLarge(mediaDetails.getPosterLarge());
             media.setRent(mediaDetails.getRent());
             media.setBuy(mediaDetails.getBuy());
-            return mediaRepository.save(media);
+            Media saved = mediaRepository.save(media);
+            detailCache.invalidate(id);
+            return saved;
         }
         return null;
     }
@@ -121,6 +226,7 @@ public class MediaService {
     public boolean deleteMedia(String id) {
         if (mediaRepository.existsById(id)) {
             mediaRepository.deleteById(id);
+            detailCache.invalidate(id);
             return true; // Successfully deleted
         }
         return false; // Media not found
@@ -133,6 +239,88 @@ public class MediaService {
      * @return List of media within the price range
      */
     public List<Media> getMediaByPriceRange(Double minPrice, Double maxPrice) {
-        return mediaRepository.findByPriceRange(minPrice, maxPrice);
+        // Sub-cent bounds round inwards, so 4.995 excludes a 4.99 price just as the decimal comparison did
+        return mediaRepository.findByPriceRange(
+                Cents.fromAmount(minPrice, RoundingMode.CEILING), Cents.fromAmount(maxPrice, RoundingMode.FLOOR));
+    }
+    
+    /**
+     * Get one page of media using keyset pagination on _id
+     * Each page is an index range scan starting after the previous page's
+     * last _id, so latency stays flat no matter how deep the client pages
+     * 
+     * @param type The media type to filter by, or null for all media (an unknown type yields an empty page)
+     * @param cursor Continuation token from the previous page, or null for the first page
+     * @param size Requested page size, clamped to catalog.page.max-size
+     * @return The page with a continuation token if more items exist
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<Media> getMediaPage(String type, String cursor, Integer size) {
+        int pageSize = clampPageSize(size);
+        String afterId = CursorPage.decodeCursor(cursor);
+        
+        // Fetch one extra document to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Media> items;
+        MediaType mediaType = MediaType.parse(type);
+        if (type != null && mediaType == null) {
+            items = Collections.emptyList();
+        } else if (mediaType == null) {
+            items = afterId == null
+                    ? mediaRepository.findAllByOrderByIdAsc(pageable)
+                    : mediaRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+        } else {
+            items = afterId == null
+                    ? mediaRepository.findByTypeOrderByIdAsc(mediaType, pageable)
+                    : mediaRepository.findByTypeAndIdGreaterThanOrderByIdAsc(mediaType, afterId, pageable);
+        }
+        
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? CursorPage.encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+    
+    private int clampPageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+    
+    /**
+     * Write the full catalog as newline-delimited JSON (one media document per line)
+     * Reads through a MongoDB cursor and serializes each document as it arrives,
+     * so heap use stays constant regardless of catalog size
+     * 
+     * @param outputStream The response stream to write to (not closed by this method)
+     * @return Number of media documents written
+     * @throws IOException if the client disconnects or the write fails
+     */
+    public long exportMediaAsNdjson(OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (Stream<Media> mediaStream = mediaRepository.streamAllByOrderByIdAsc();
+             SequenceWriter writer = objectMapper.writerFor(Media.class)
+                     .withRootValueSeparator("\n")
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .writeValues(outputStream)) {
+            Iterator<Media> iterator = mediaStream.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                written++;
+                if (written % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        }
+        // Terminate the last record so every line is a complete document
+        if (written > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+        return written;
     }
 }
@@ -0,0 +1,186 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSummary;
+import com.bhrugu.api.restapi.model.Cents;
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import com.bhrugu.api.restapi.repository.ReactiveMediaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking service layer for Media operations ("reactive" profile)
+ * Same behavior as MediaService, but every method returns a Flux or Mono
+ * wired straight to ReactiveMediaRepository. Lists are never collected:
+ * documents flow from the MongoDB cursor to the response as the client
+ * reads them.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveMediaService {
+    
+    @Autowired
+    private ReactiveMediaRepository mediaRepository;
+    
+    // Page size used when the client does not ask for one
+    @Value("${catalog.page.default-size:20}")
+    private int defaultPageSize;
+    
+    // Hard upper bound on page size, keeps per-request memory flat
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
+    
+    public Flux<Media> getAllMedia() {
+        return mediaRepository.findAll();
+    }
+    
+    public Mono<Media> getMediaById(String id) {
+        return mediaRepository.findById(id);
+    }
+    
+    /**
+     * @param type The media type to filter by, in any spelling MediaType.parse accepts
+     * @return Media matching the type, empty for an unknown type
+     */
+    public Flux<Media> getMediaByType(String type) {
+        MediaType mediaType = MediaType.parse(type);
+        return mediaType == null ? Flux.empty() : mediaRepository.findByType(mediaType);
+    }
+    
+    public Flux<Media> searchMediaByTitle(String title) {
+        return mediaRepository.findByTitleContainingIgnoreCase(title);
+    }
+    
+    public Flux<Media> getAllMovies() {
+        return mediaRepository.findAllMovies();
+    }
+    
+    public Flux<Media> getAllTVShows() {
+        return mediaRepository.findAllTVShows();
+    }
+    
+    public Flux<MediaSummary> getAllMedia(Set<String> fields) {
+        return mediaRepository.findAllWithFields(fields).map(media -> MediaSummary.of(media, fields));
+    }
+    
+    public Flux<MediaSummary> getMediaByType(String type, Set<String> fields) {
+        MediaType mediaType = MediaType.parse(type);
+        if (mediaType == null) {
+            return Flux.empty();
+        }
+        return mediaRepository.findByTypeWithFields(mediaType, fields).map(media -> MediaSummary.of(media, fields));
+    }
+    
+    public Flux<MediaSummary> searchMediaByTitle(String title, Set<String> fields) {
+        return mediaRepository.findByTitleContainingIgnoreCaseWithFields(title, fields)
+                .map(media -> MediaSummary.of(media, fields));
+    }
+    
+    public Mono<Media> saveMedia(Media media) {
+        return mediaRepository.save(media);
+    }
+    
+    /**
+     * Update existing media
+     * @param id The MongoDB ObjectId as string
+     * @param mediaDetails The updated media details
+     * @return The updated media, or empty if not found
+     */
+    public Mono<Media> updateMedia(String id, Media mediaDetails) {
+        return mediaRepository.findById(id).flatMap(media -> {
+            media.setTitle(mediaDetails.getTitle());
+            media.setType(mediaDetails.getType());
+            media.setSynopsis(mediaDetails.getSynopsis());
+            media.setPoster(mediaDetails.getPoster());
+            media.setPosterLarge(mediaDetails.getPosterLarge());
+            media.setRent(mediaDetails.getRent());
+            media.setBuy(mediaDetails.getBuy());
+            return mediaRepository.save(media);
+        });
+    }
+    
+    /**
+     * Delete media
+     * @param id The MongoDB ObjectId as string
+     * @return true if media was found and deleted, false if media doesn't exist
+     */
+    public Mono<Boolean> deleteMedia(String id) {
+        return mediaRepository.existsById(id).flatMap(exists -> exists
+                ? mediaRepository.deleteById(id).thenReturn(true)
+                : Mono.just(false));
+    }
+    
+    public Flux<Media> getMediaByPriceRange(Double minPrice, Double maxPrice) {
+        return mediaRepository.findByPriceRange(
+                Cents.fromAmount(minPrice, RoundingMode.CEILING), Cents.fromAmount(maxPrice, RoundingMode.FLOOR));
+    }
+    
+    /**
+     * Get one page of media using keyset pagination on _id
+     * @param type The media type to filter by, or null for all media (an unknown type yields an empty page)
+     * @param cursor Continuation token from the previous page, or null for the first page
+     * @param size Requested page size, clamped to catalog.page.max-size
+     * @return The page with a continuation token if more items exist; errors with
+     *         IllegalArgumentException if the cursor is malformed
+     */
+    public Mono<CursorPage<Media>> getMediaPage(String type, String cursor, Integer size) {
+        int pageSize = clampPageSize(size);
+        String afterId;
+        try {
+            afterId = CursorPage.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        
+        // Fetch one extra document to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        Flux<Media> items;
+        MediaType mediaType = MediaType.parse(type);
+        if (type != null && mediaType == null) {
+            items = Flux.empty();
+        } else if (mediaType == null) {
+            items = afterId == null
+                    ? mediaRepository.findAllByOrderByIdAsc(pageable)
+                    : mediaRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+        } else {
+            items = afterId == null
+                    ? mediaRepository.findByTypeOrderByIdAsc(mediaType, pageable)
+                    : mediaRepository.findByTypeAndIdGreaterThanOrderByIdAsc(mediaType, afterId, pageable);
+        }
+        
+        // A page is bounded by catalog.page.max-size, so collecting it is fine
+        return items.collectList().map(page -> {
+            boolean hasMore = page.size() > pageSize;
+            List<Media> pageItems = hasMore ? page.subList(0, pageSize) : page;
+            String nextCursor = hasMore ? CursorPage.encodeCursor(pageItems.get(pageItems.size() - 1).getId()) : null;
+            return new CursorPage<>(pageItems, nextCursor, hasMore);
+        });
+    }
+    
+    private int clampPageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+    
+    /**
+     * Stream the full catalog ordered by _id
+     * Rendered as NDJSON by the controller; the cursor advances only as fast
+     * as the client reads
+     * @return All media documents
+     */
+    public Flux<Media> exportMedia() {
+        return mediaRepository.streamAllByOrderByIdAsc();
+    }
+}
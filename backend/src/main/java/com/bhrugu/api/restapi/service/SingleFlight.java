@@ -0,0 +1,90 @@
+package com.bhrugu.api.restapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing for identical concurrent reads
+ * The first caller for a key runs the load; callers that arrive while it is
+ * still running wait for it and receive the same result (or exception)
+ * instead of issuing their own query. Nothing is cached: once the load
+ * finishes the key is released and the next caller loads again.
+ *
+ * Waiters share the returned object, so results must be treated as read-only.
+ *
+ * Metrics (tagged flight=name):
+ * - catalog.singleflight.calls, outcome=executed: loads that reached MongoDB
+ * - catalog.singleflight.calls, outcome=coalesced: callers served by another caller's load
+ * - catalog.singleflight.inflight: keys currently loading
+ *
+ * @param <K> Key identifying identical requests
+ * @param <V> Result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.executed = Counter.builder("catalog.singleflight.calls")
+                .tag("flight", name).tag("outcome", "executed")
+                .description("Loads that were executed")
+                .register(registry);
+        this.coalesced = Counter.builder("catalog.singleflight.calls")
+                .tag("flight", name).tag("outcome", "coalesced")
+                .description("Callers that shared a load already in flight")
+                .register(registry);
+        Gauge.builder("catalog.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+                .tag("flight", name)
+                .register(registry);
+    }
+
+    /**
+     * Run the load for a key, or join the one already running
+     * @param key Identifies identical requests
+     * @param load The load; runs on the calling thread of the first caller
+     * @return The load's result
+     * @throws RuntimeException whatever the shared load threw
+     */
+    public V execute(K key, Supplier<V> load) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = load.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as it was thrown
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoConversionsConfigTests {
+
+	private final MappingMongoConverter converter = converter();
+
+	private static MappingMongoConverter converter() {
+		MongoMappingContext context = new MongoMappingContext();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(new MongoConversionsConfig().mongoCustomConversions());
+		context.setSimpleTypeHolder(converter.getCustomConversions().getSimpleTypeHolder());
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	@Test
+	void mediaTypeIsStoredAsItsCodeAndServedInThisServicesSpelling() {
+		Media media = new Media("Dune", "TV Show", "", "", "", 1.99, 9.99);
+
+		Document document = new Document();
+		converter.write(media, document);
+		assertThat(document.get("type")).isEqualTo("tv");
+
+		Media read = converter.read(Media.class, document);
+		assertThat(read.getMediaType()).isEqualTo(MediaType.TV_SHOW);
+		assertThat(read.getType()).isEqualTo("tv-show");
+	}
+
+	@Test
+	void pricesAreStoredAsCentsAndServedAsAmounts() {
+		Media media = new Media("Dune", "Movie", "", "", "", 4.99, 14.99);
+
+		Document document = new Document();
+		converter.write(media, document);
+		assertThat(document.get("rentCents")).isEqualTo(499L);
+		assertThat(document.get("buyCents")).isEqualTo(1499L);
+		assertThat(document).doesNotContainKeys("rent", "buy");
+
+		Media read = converter.read(Media.class, document);
+		assertThat(read.getRent()).isEqualTo(4.99);
+		assertThat(read.getBuyCents()).isEqualTo(1499L);
+	}
+
+	@Test
+	void legacyPricesAreAmountsWhateverTheirNumericType() {
+		Object[] legacy = {15, 15L, 15.0, new Decimal128(new BigDecimal("15.00"))};
+		for (Object amount : legacy) {
+			Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", amount).append("buy", amount));
+			assertThat(read.getRentCents()).as(amount.getClass().getSimpleName()).isEqualTo(1500L);
+			assertThat(read.getBuy()).as(amount.getClass().getSimpleName()).isEqualTo(15.0);
+		}
+		Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", 3.99).append("buy", 12.99));
+		assertThat(read.getRentCents()).isEqualTo(399L);
+		assertThat(read.getBuyCents()).isEqualTo(1299L);
+	}
+
+	@Test
+	void aPriceChangeDropsTheLegacyField() {
+		Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", 3).append("buy", 12));
+		read.setBuy(9.99);
+
+		Document document = new Document();
+		converter.write(read, document);
+		assertThat(document.get("buyCents")).isEqualTo(999L);
+		assertThat(document).doesNotContainKey("buy");
+		// Untouched legacy amounts are written back as amounts
+		assertThat(document.get("rent")).isEqualTo(3.0);
+	}
+}
@@ -0,0 +1,60 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaSummaryTests {
+
+	@Test
+	void knownFieldsParseInRequestOrder() {
+		assertThat(MediaSummary.parseFields("title,id,buy")).containsExactly("title", "id", "buy");
+		assertThat(MediaSummary.parseFields(" id , poster ,,rent,")).containsExactly("id", "poster", "rent");
+		assertThat(MediaSummary.parseFields("id,title,id")).containsExactly("id", "title");
+		assertThat(MediaSummary.parseFields(String.join(",", MediaSummary.FIELDS)))
+				.containsExactlyElementsOf(MediaSummary.FIELDS);
+	}
+
+	@Test
+	void unknownFieldsAreRejectedByName() {
+		assertThatThrownBy(() -> MediaSummary.parseFields("id,password"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unknown field: password");
+		// JSON naming only, matched exactly
+		assertThatThrownBy(() -> MediaSummary.parseFields("Title"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unknown field: Title");
+		assertThatThrownBy(() -> MediaSummary.parseFields("poster_large"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> MediaSummary.parseFields("_id"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void emptyFieldListsAreRejected() {
+		assertThatThrownBy(() -> MediaSummary.parseFields(""))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("No fields requested");
+		assertThatThrownBy(() -> MediaSummary.parseFields(" , ,"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("No fields requested");
+	}
+
+	@Test
+	void onlyRequestedFieldsAreSerialized() {
+		Media media = new Media("Heat", "Movie", "A heist.", "heat.jpg", "heat-large.jpg", 2.99, 9.99);
+		media.setId("m1");
+		Set<String> fields = MediaSummary.parseFields("id,title,rent");
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> json = new ObjectMapper().convertValue(MediaSummary.of(media, fields), Map.class);
+
+		assertThat(json).containsOnlyKeys("id", "title", "rent");
+		assertThat(json).containsEntry("title", "Heat").containsEntry("rent", 2.99);
+	}
+}
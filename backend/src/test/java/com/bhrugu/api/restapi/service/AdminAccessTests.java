@@ -0,0 +1,30 @@
+package com.bhrugu.api.restapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAccessTests {
+
+	private static final String ADMIN_ID = "64b7f0c2a1b2c3d4e5f60718";
+
+	private final SessionTokenService tokens = new SessionTokenService("test-secret-test-secret-test-secret", 60, 1000);
+
+	@Test
+	void onlyListedCustomersWithAValidSessionAreAdmins() {
+		AdminAccess access = new AdminAccess(tokens, " " + ADMIN_ID + " , other");
+
+		assertThat(access.deny("Bearer " + tokens.issue(ADMIN_ID))).isNull();
+		assertThat(access.deny("Bearer " + tokens.issue("64b7f0c2a1b2c3d4e5f60719"))).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(access.deny(null)).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(access.deny("Bearer not-a-token")).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void emptyAdminListRefusesEveryone() {
+		AdminAccess access = new AdminAccess(tokens, "");
+
+		assertThat(access.deny("Bearer " + tokens.issue(ADMIN_ID))).isEqualTo(HttpStatus.FORBIDDEN);
+	}
+}
@@ -0,0 +1,100 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Customer;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LastLoginWriteBehindTests {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate template;
+	private final LastLoginWriteBehind writeBehind = new LastLoginWriteBehind();
+	private final String ann = new ObjectId().toHexString();
+	private final String bob = new ObjectId().toHexString();
+
+	@BeforeEach
+	void startServer() {
+		server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+		client = MongoClients.create(MongoClientSettings.builder()
+				.applyConnectionString(new ConnectionString(server.bindAndGetConnectionString()))
+				.applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(500, TimeUnit.MILLISECONDS))
+				.build());
+		template = new MongoTemplate(client, "test");
+		ReflectionTestUtils.setField(writeBehind, "mongoTemplate", template);
+		ReflectionTestUtils.setField(writeBehind, "maxBuffer", 100);
+		for (String id : new String[] {ann, bob}) {
+			Customer customer = new Customer("Customer " + id, id + "@example.com", "hash");
+			customer.setId(id);
+			template.insert(customer);
+		}
+	}
+
+	@AfterEach
+	void stopServer() {
+		client.close();
+		server.shutdownNow();
+	}
+
+	private LocalDateTime lastLogin(String id) {
+		return template.findById(id, Customer.class).getLastLogin();
+	}
+
+	@Test
+	void loginsCoalesceToTheLatestTimestampPerCustomer() {
+		writeBehind.record(ann, NOON.plusMinutes(5));
+		writeBehind.record(ann, NOON);
+		writeBehind.record(bob, NOON.plusMinutes(1));
+		assertThat(writeBehind.pendingCount()).isEqualTo(2);
+		assertThat(lastLogin(ann)).isNull();
+
+		writeBehind.flush();
+
+		assertThat(writeBehind.pendingCount()).isZero();
+		assertThat(lastLogin(ann)).isEqualTo(NOON.plusMinutes(5));
+		assertThat(lastLogin(bob)).isEqualTo(NOON.plusMinutes(1));
+	}
+
+	@Test
+	void aFullBufferFlushesWithoutWaitingForTheSchedule() throws InterruptedException {
+		ReflectionTestUtils.setField(writeBehind, "maxBuffer", 2);
+		writeBehind.record(ann, NOON);
+		writeBehind.record(bob, NOON);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		// One unordered bulk write, but its updates land one at a time
+		while ((lastLogin(ann) == null || lastLogin(bob) == null) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(lastLogin(ann)).isEqualTo(NOON);
+		assertThat(lastLogin(bob)).isEqualTo(NOON);
+	}
+
+	@Test
+	void aFailedFlushKeepsTheTimestampsForTheNextOne() {
+		writeBehind.record(ann, NOON);
+		writeBehind.record(bob, NOON);
+		server.shutdownNow();
+
+		writeBehind.flush();
+
+		assertThat(writeBehind.pendingCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,72 @@
+package com.bhrugu.api.restapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private double calls(String outcome) {
+		return registry.get("catalog.singleflight.calls").tag("outcome", outcome).counter().count();
+	}
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		int callers = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				results.add(executor.submit(() -> flight.execute("id", () -> {
+					loads.incrementAndGet();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return "value";
+				})));
+			}
+			// Wait until every caller but the leader has joined the flight
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (calls("coalesced") < callers - 1 && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(calls("executed")).isEqualTo(1);
+		assertThat(calls("coalesced")).isEqualTo(callers - 1);
+	}
+
+	@Test
+	void keyIsReleasedAfterTheLoadFails() {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+		assertThatThrownBy(() -> flight.execute("id", () -> {
+			throw new IllegalStateException("down");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(flight.execute("id", () -> "value")).isEqualTo("value");
+		assertThat(calls("executed")).isEqualTo(2);
+	}
+}
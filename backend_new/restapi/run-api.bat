@@ -15,11 +15,13 @@ echo.
 REM Method 1: Try Maven wrapper
 if exist mvnw.cmd (
     echo Using Maven wrapper...
+    call mvnw.cmd -q -f ..\..\common\pom.xml install -DskipTests
     call mvnw.cmd clean spring-boot:run
 ) else (
     echo Maven wrapper not found, trying alternative method...
     
     REM Method 2: Try installed Maven
+    mvn -q -f ..\..\common\pom.xml install -DskipTests
     mvn clean spring-boot:run
 )
 
@@ -0,0 +1,119 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.service.MediaCatalogCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background catalog seeding
+ * Runs DataInitializer and warms the catalog snapshot on a separate thread once
+ * the application is up, so the HTTP port opens without waiting on Atlas.
+ *
+ * Progress is exposed through CatalogSeedingHealthIndicator, which is part of
+ * the readiness group: /actuator/health/readiness stays OUT_OF_SERVICE until
+ * the catalog is loaded. Failed attempts (e.g. Atlas unreachable) are retried
+ * up to catalog.seed.max-attempts times.
+ *
+ * Each attempt first drops media-catalog indexes nothing reads through, then
+ * migrates legacy type strings and rent/buy amounts to MediaType codes and
+ * rentCents/buyCents.
+ */
+@Component
+public class CatalogSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    public enum State { PENDING, SEEDING, READY, FAILED }
+
+    @Autowired
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private MediaCatalogCache catalogCache;
+
+    @Autowired
+    private MediaIndexManager indexManager;
+
+    @Autowired
+    private MediaTypeMigration typeMigration;
+
+    @Autowired
+    private PriceCentsMigration priceMigration;
+
+    @Value("${catalog.seed.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${catalog.seed.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-seeder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile State state = State.PENDING;
+    private volatile int attempts;
+    private volatile int inserted;
+    private volatile int catalogSize;
+    private volatile String lastError;
+
+    /**
+     * Start seeding once the application context is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::seed);
+    }
+
+    private void seed() {
+        state = State.SEEDING;
+        while (true) {
+            attempts++;
+            try {
+                indexManager.ensureIndexes();
+                typeMigration.migrate();
+                priceMigration.migrate();
+                inserted = dataInitializer.seed();
+                // Load the snapshot now so the first request after readiness is served from memory
+                catalogSize = catalogCache.current().size();
+                lastError = null;
+                state = State.READY;
+                log.info("Catalog ready: {} media items ({} seeded) after {} attempt(s)", catalogSize, inserted, attempts);
+                return;
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                if (attempts >= maxAttempts) {
+                    state = State.FAILED;
+                    log.error("Catalog seeding failed after {} attempts: {}", attempts, lastError);
+                    return;
+                }
+                log.warn("Catalog seeding attempt {} of {} failed, retrying in {} ms: {}", attempts, maxAttempts, retryDelayMs, lastError);
+            }
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public State getState() { return state; }
+    public int getAttempts() { return attempts; }
+    public int getInserted() { return inserted; }
+    public int getCatalogSize() { return catalogSize; }
+}
@@ -0,0 +1,41 @@
+package com.bhrugu.api.restapi.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health contributor "catalogSeeding"
+ * UP once the catalog is seeded and loaded, OUT_OF_SERVICE while seeding is in
+ * progress and DOWN if it gave up. Included in the readiness probe group.
+ * The failure itself is only logged by CatalogSeeder: exception messages can
+ * name hosts and credentials, and health is reachable without logging in.
+ */
+@Component
+public class CatalogSeedingHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private CatalogSeeder catalogSeeder;
+
+    @Override
+    public Health health() {
+        CatalogSeeder.State state = catalogSeeder.getState();
+        Health.Builder builder;
+        switch (state) {
+            case READY:
+                builder = Health.up();
+                break;
+            case FAILED:
+                builder = Health.down();
+                break;
+            default:
+                builder = Health.outOfService();
+        }
+        builder.withDetail("state", state)
+               .withDetail("attempts", catalogSeeder.getAttempts())
+               .withDetail("seeded", catalogSeeder.getInserted())
+               .withDetail("catalogSize", catalogSeeder.getCatalogSize());
+        return builder.build();
+    }
+}
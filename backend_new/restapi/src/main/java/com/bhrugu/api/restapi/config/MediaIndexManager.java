@@ -0,0 +1,49 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.Media;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Secondary indexes on media-catalog
+ * This service reads the catalog only through the in-memory snapshot, which
+ * loads it with findAll() and writes by _id, so no query here needs an index
+ * beyond _id. Every extra index would only add work to each insert and
+ * update.
+ *
+ * Earlier versions created type_featured and featured_true for the
+ * MediaRepository finders, which nothing calls; they are dropped where they
+ * still exist. Runs from CatalogSeeder, off the request path.
+ */
+@Component
+public class MediaIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaIndexManager.class);
+
+    // Created by earlier versions, not used by any read path
+    private static final List<String> OBSOLETE_INDEXES = List.of("type_featured", "featured_true");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Drop the obsolete media-catalog indexes
+     * Idempotent: indexes that are already gone are skipped.
+     * @throws RuntimeException if MongoDB cannot be reached, so the caller can retry
+     */
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Media.class);
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (OBSOLETE_INDEXES.contains(index.getName())) {
+                indexOps.dropIndex(index.getName());
+                log.info("Dropped unused media-catalog index {}", index.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bhrugu.api.restapi.controller;
+
+import com.bhrugu.api.restapi.service.AdminAccess;
+import com.bhrugu.api.restapi.service.MediaBulkService;
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
+
+/**
+ * REST Controller for catalog administration
+ * Operations that work on the catalog as a whole rather than on single items
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class AdminController {
+
+    @Autowired
+    private MediaBulkService mediaBulkService;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    /**
+     * POST /api/admin/media/import - Bulk import media
+     * Accepts a JSON array of media documents or NDJSON (one document per line,
+     * e.g. the output of a catalog export). Documents are inserted in unordered
+     * batches; failures are counted and reported without stopping the import.
+     * Only for users with the admin role, see AdminAccess.
+     * @param authorization Authorization header with an admin's bearer token
+     * @param body Raw request body, read incrementally
+     * @return ApiResponse with inserted/failed counts, 400 if the body is not valid JSON,
+     *         401 without a valid session, 403 for a non-admin
+     */
+    @PostMapping(value = "/media/import", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<BulkImportResult>> importMedia(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                                                     InputStream body) {
+        HttpStatus denied = adminAccess.deny(authorization);
+        if (denied != null) {
+            return ResponseEntity.status(denied).body(new ApiResponse<>(false, "Admin session required", null, denied.value()));
+        }
+        try {
+            BulkImportResult result = mediaBulkService.importMedia(body);
+            String message = "Imported " + result.getInserted() + " of " + result.getReceived() + " media items";
+            return ResponseEntity.ok(new ApiResponse<>(true, message, result, 200));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.status(400).body(new ApiResponse<>(false, "Invalid import body: " + e.getOriginalMessage(), null, 400));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to import media: " + e.getMessage(), null, 500));
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package com.bhrugu.api.restapi.controller;
 
 import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.service.CatalogResponseCache;
+import com.bhrugu.api.restapi.service.CatalogSnapshot;
 import com.bhrugu.api.restapi.service.MediaService;
+import com.bhrugu.api.restapi.service.MediaBulkService;
+import com.bhrugu.api.restapi.service.TitleTrie;
 import com.bhrugu.api.restapi.repository.MediaRepository;
 import com.bhrugu.api.restapi.dto.MediaCreationRequest;
 import com.bhrugu.api.restapi.dto.MediaUpdateRequest;
 import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,17 +32,33 @@ import java.util.List;
  * Provides comprehensive RESTful API endpoints for the digital video store
  * Handles movies and TV shows with full CRUD operations
  * Works with MongoDB through MediaService
+ *
+ * Catalog list and detail endpoints send a weak ETag and Last-Modified
+ * taken from the catalog snapshot and answer matching If-None-Match /
+ * If-Modified-Since with 304 before any serialization. The list views are
+ * written straight from CatalogResponseCache, already serialized and gzipped.
+ * Pages, search, price range and suggestions send a weak ETag computed from the
+ * items they return (no Last-Modified: suggestions can re-rank without a
+ * catalog change) and answer a matching If-None-Match with 304.
  */
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class MediaController {
 
+    private static final Logger log = LoggerFactory.getLogger(MediaController.class);
+
     @Autowired
     private MediaService mediaService;
     
     @Autowired
     private MediaRepository mediaRepository;
+    
+    @Autowired
+    private MediaBulkService mediaBulkService;
+
+    @Autowired
+    private CatalogResponseCache responseCache;
 
     /**
      * Debug endpoint to check database contents
@@ -36,13 +67,12 @@ public class MediaController {
     public ResponseEntity<ApiResponse<String>> debugData() {
         try {
             long totalCount = mediaService.count();
-            List<Media> allMedia = mediaRepository.findAll();
-            
-            System.out.println("=== DATABASE DEBUG INFO ===");
-            System.out.println("Total items in database: " + totalCount);
             
-            for (Media media : allMedia) {
-                System.out.println("- " + media.getTitle() + " (" + media.getType() + ") - Featured: " + media.getFeatured());
+            // Item listing only at DEBUG: it reads the whole collection
+            if (log.isDebugEnabled()) {
+                for (Media media : mediaRepository.findAll()) {
+                    log.debug("- {} ({}) - Featured: {}", media.getTitle(), media.getType(), media.getFeatured());
+                }
             }
             
             List<Media> movies = mediaService.getAllMovies();
@@ -50,20 +80,16 @@ public class MediaController {
             List<Media> featuredMovies = mediaService.getFeaturedMovies();
             List<Media> featuredTVShows = mediaService.getFeaturedTVShows();
             
-            System.out.println("Movies found: " + movies.size());
-            System.out.println("TV Shows found: " + tvShows.size());
-            System.out.println("Featured Movies found: " + featuredMovies.size());
-            System.out.println("Featured TV Shows found: " + featuredTVShows.size());
-            
             String debugInfo = String.format(
                 "Total: %d | Movies: %d | TV Shows: %d | Featured Movies: %d | Featured TV Shows: %d",
                 totalCount, movies.size(), tvShows.size(), featuredMovies.size(), featuredTVShows.size()
             );
             
+            log.info("Database debug info: {}", debugInfo);
             return ResponseEntity.ok(new ApiResponse<>(true, "Debug completed", debugInfo, 200));
             
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Debug failed", e);
             return ResponseEntity.status(500).body(new ApiResponse<>(false, "Debug failed: " + e.getMessage(), null, 500));
         }
     }
@@ -74,44 +100,34 @@ public class MediaController {
     @GetMapping("/init-data")
     public ResponseEntity<ApiResponse<String>> initializeSampleData() {
         try {
-            System.out.println("🎬 Manually initializing database with sample data...");
+            log.info("Manually initializing database with sample data");
             
             // Clear existing data first
             mediaService.deleteAll();
             
-            // Add sample movies
-            Media inception = new Media("Inception", "Movie", "A thief who steals corporate secrets through dream-sharing technology is given the inverse task of planting an idea into the mind of a C.E.O.", "inception.jpg", "inception_large.jpg", 4.99, 14.99, true);
-            mediaService.save(inception);
-            
-            Media matrix = new Media("The Matrix", "Movie", "A computer hacker learns from mysterious rebels about the true nature of his reality and his role in the war against its controllers.", "matrix.jpg", "matrix_large.jpg", 3.99, 12.99, true);
-            mediaService.save(matrix);
-            
-            Media darkKnight = new Media("The Dark Knight", "Movie", "When the menace known as the Joker wreaks havoc and chaos on the people of Gotham, Batman must accept one of the greatest psychological and physical tests of his ability to fight injustice.", "dark_knight.jpg", "dark_knight_large.jpg", 4.99, 15.99, true);
-            mediaService.save(darkKnight);
+            // Sample catalog, written as one unordered bulk insert
+            List<Media> sampleMedia = new ArrayList<>();
             
-            Media blackPanther = new Media("Black Panther", "Movie", "T'Challa, heir to the hidden but advanced kingdom of Wakanda, must step forward to lead his people into a new future and must confront a challenger from his country's past.", "black_panther.jpg", "black_panther_large.jpg", 4.99, 14.99, false);
-            mediaService.save(blackPanther);
+            // Add sample movies
+            sampleMedia.add(new Media("Inception", "Movie", "A thief who steals corporate secrets through dream-sharing technology is given the inverse task of planting an idea into the mind of a C.E.O.", "inception.jpg", "inception_large.jpg", 4.99, 14.99, true));
+            sampleMedia.add(new Media("The Matrix", "Movie", "A computer hacker learns from mysterious rebels about the true nature of his reality and his role in the war against its controllers.", "matrix.jpg", "matrix_large.jpg", 3.99, 12.99, true));
+            sampleMedia.add(new Media("The Dark Knight", "Movie", "When the menace known as the Joker wreaks havoc and chaos on the people of Gotham, Batman must accept one of the greatest psychological and physical tests of his ability to fight injustice.", "dark_knight.jpg", "dark_knight_large.jpg", 4.99, 15.99, true));
+            sampleMedia.add(new Media("Black Panther", "Movie", "T'Challa, heir to the hidden but advanced kingdom of Wakanda, must step forward to lead his people into a new future and must confront a challenger from his country's past.", "black_panther.jpg", "black_panther_large.jpg", 4.99, 14.99, false));
             
             // Add sample TV shows
-            Media breakingBad = new Media("Breaking Bad", "TV Show", "A high school chemistry teacher diagnosed with inoperable lung cancer turns to manufacturing and selling methamphetamine in order to secure his family's future.", "breaking_bad.jpg", "breaking_bad_large.jpg", 2.99, 24.99, true);
-            mediaService.save(breakingBad);
-            
-            Media gameOfThrones = new Media("Game of Thrones", "TV Show", "Nine noble families fight for control over the lands of Westeros, while an ancient enemy returns after being dormant for millennia.", "game_of_thrones.jpg", "game_of_thrones_large.jpg", 2.99, 29.99, true);
-            mediaService.save(gameOfThrones);
+            sampleMedia.add(new Media("Breaking Bad", "TV Show", "A high school chemistry teacher diagnosed with inoperable lung cancer turns to manufacturing and selling methamphetamine in order to secure his family's future.", "breaking_bad.jpg", "breaking_bad_large.jpg", 2.99, 24.99, true));
+            sampleMedia.add(new Media("Game of Thrones", "TV Show", "Nine noble families fight for control over the lands of Westeros, while an ancient enemy returns after being dormant for millennia.", "game_of_thrones.jpg", "game_of_thrones_large.jpg", 2.99, 29.99, true));
+            sampleMedia.add(new Media("The Office", "TV Show", "A mockumentary on a group of typical office workers, where the workday consists of ego clashes, inappropriate behavior, and tedium.", "the_office.jpg", "the_office_large.jpg", 1.99, 19.99, false));
             
-            Media theOffice = new Media("The Office", "TV Show", "A mockumentary on a group of typical office workers, where the workday consists of ego clashes, inappropriate behavior, and tedium.", "the_office.jpg", "the_office_large.jpg", 1.99, 19.99, false);
-            mediaService.save(theOffice);
+            BulkImportResult result = mediaBulkService.insertAll(sampleMedia);
+            long count = result.getInserted();
             
-            long count = mediaService.count();
-            
-            System.out.println("✅ Database initialized successfully!");
-            System.out.println("📊 Total media items: " + count);
+            log.info("Database initialized with {} media items", count);
             
             return ResponseEntity.ok(new ApiResponse<>(true, "Database initialized successfully with " + count + " items", "Success", 200));
             
         } catch (Exception e) {
-            System.err.println("❌ Error initializing database: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error initializing database", e);
             return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to initialize database: " + e.getMessage(), null, 500));
         }
     }
@@ -120,25 +136,69 @@ public class MediaController {
      * Get all movies
      */
     @GetMapping("/movies")
-    public ResponseEntity<ApiResponse<List<Media>>> getAllMovies() {
-        try {
-            List<Media> movies = mediaService.getAllMovies();
-            return ResponseEntity.ok(new ApiResponse<>(true, "Movies retrieved successfully", movies, 200));
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve movies: " + e.getMessage(), null, 500));
-        }
+    public ResponseEntity<?> getAllMovies(WebRequest request, HttpServletResponse response) {
+        return catalogView(CatalogSnapshot.View.MOVIES, "Movies retrieved successfully", "Failed to retrieve movies: ", request, response);
     }
 
     /**
      * Get all TV shows
      */
     @GetMapping("/tvshows")
-    public ResponseEntity<ApiResponse<List<Media>>> getAllTVShows() {
+    public ResponseEntity<?> getAllTVShows(WebRequest request, HttpServletResponse response) {
+        return catalogView(CatalogSnapshot.View.TV_SHOWS, "TV shows retrieved successfully", "Failed to retrieve TV shows: ", request, response);
+    }
+
+    /**
+     * Get one page of all media (keyset pagination)
+     */
+    @GetMapping("/media/page")
+    public ResponseEntity<ApiResponse<CursorPage<Media>>> getMediaPage(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      WebRequest request) {
+        return mediaPage(null, cursor, size, request);
+    }
+
+    /**
+     * Get one page of media of a given type (keyset pagination)
+     */
+    @GetMapping("/media/type/{type}/page")
+    public ResponseEntity<ApiResponse<CursorPage<Media>>> getMediaPageByType(@PathVariable String type,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            WebRequest request) {
+        return mediaPage(type, cursor, size, request);
+    }
+
+    /**
+     * Get one page of movies (keyset pagination)
+     */
+    @GetMapping("/movies/page")
+    public ResponseEntity<ApiResponse<CursorPage<Media>>> getMoviesPage(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer size,
+                                                                       WebRequest request) {
+        return mediaPage("Movie", cursor, size, request);
+    }
+
+    /**
+     * Get one page of TV shows (keyset pagination)
+     */
+    @GetMapping("/tvshows/page")
+    public ResponseEntity<ApiResponse<CursorPage<Media>>> getTVShowsPage(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size,
+                                                                        WebRequest request) {
+        return mediaPage("TV Show", cursor, size, request);
+    }
+
+    private ResponseEntity<ApiResponse<CursorPage<Media>>> mediaPage(String type, String cursor, Integer size, WebRequest request) {
         try {
-            List<Media> tvShows = mediaService.getAllTVShows();
-            return ResponseEntity.ok(new ApiResponse<>(true, "TV shows retrieved successfully", tvShows, 200));
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            CursorPage<Media> page = mediaService.getMediaPage(catalog, type, cursor, size);
+            return conditional(request, catalog.getETag(page.getItems(), page.getNextCursor()),
+                    new ApiResponse<>(true, "Page retrieved successfully", page, 200));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ApiResponse<>(false, "Invalid cursor", null, 400));
         } catch (Exception e) {
-            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve TV shows: " + e.getMessage(), null, 500));
+            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve page: " + e.getMessage(), null, 500));
         }
     }
 
@@ -146,25 +206,40 @@ public class MediaController {
      * Get featured movies
      */
     @GetMapping("/featured/movies")
-    public ResponseEntity<ApiResponse<List<Media>>> getFeaturedMovies() {
-        try {
-            List<Media> featuredMovies = mediaService.getFeaturedMovies();
-            return ResponseEntity.ok(new ApiResponse<>(true, "Featured movies retrieved successfully", featuredMovies, 200));
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve featured movies: " + e.getMessage(), null, 500));
-        }
+    public ResponseEntity<?> getFeaturedMovies(WebRequest request, HttpServletResponse response) {
+        return catalogView(CatalogSnapshot.View.FEATURED_MOVIES, "Featured movies retrieved successfully", "Failed to retrieve featured movies: ", request, response);
     }
 
     /**
      * Get featured TV shows
      */
     @GetMapping("/featured/tvshows")
-    public ResponseEntity<ApiResponse<List<Media>>> getFeaturedTVShows() {
+    public ResponseEntity<?> getFeaturedTVShows(WebRequest request, HttpServletResponse response) {
+        return catalogView(CatalogSnapshot.View.FEATURED_TV_SHOWS, "Featured TV shows retrieved successfully", "Failed to retrieve featured TV shows: ", request, response);
+    }
+
+    // Serves pre-serialized bytes; null tells Spring the 304 is already written
+    private ResponseEntity<?> catalogView(CatalogSnapshot.View view, String message, String failure,
+                                          WebRequest request, HttpServletResponse response) {
         try {
-            List<Media> featuredTVShows = mediaService.getFeaturedTVShows();
-            return ResponseEntity.ok(new ApiResponse<>(true, "Featured TV shows retrieved successfully", featuredTVShows, 200));
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            CatalogResponseCache.Rendering rendering = responseCache.get(catalog, view, message);
+            boolean gzip = CatalogResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (request.checkNotModified(rendering.etag(gzip), catalog.getLastModified())) {
+                return null;
+            }
+            byte[] body = rendering.body(gzip);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length);
+            if (rendering.contentEncoding(gzip) != null) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, rendering.contentEncoding(gzip));
+            }
+            return builder.body(body);
         } catch (Exception e) {
-            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve featured TV shows: " + e.getMessage(), null, 500));
+            return ResponseEntity.status(500).body(new ApiResponse<>(false, failure + e.getMessage(), null, 500));
         }
     }
 
@@ -172,24 +247,76 @@ public class MediaController {
      * Search media by title
      */
     @GetMapping("/media/search")
-    public ResponseEntity<ApiResponse<List<Media>>> searchMedia(@RequestParam String title) {
+    public ResponseEntity<ApiResponse<List<Media>>> searchMedia(@RequestParam String title, WebRequest request) {
         try {
-            List<Media> searchResults = mediaService.searchByTitle(title);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Search completed successfully", searchResults, 200));
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            List<Media> searchResults = mediaService.searchByTitle(catalog, title);
+            return conditional(request, catalog.getETag(searchResults, null),
+                    new ApiResponse<>(true, "Search completed successfully", searchResults, 200));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to search media: " + e.getMessage(), null, 500));
         }
     }
 
+    /**
+     * Get media by buy price range, e.g. /api/media/price?minPrice=5&maxPrice=20
+     */
+    @GetMapping("/media/price")
+    public ResponseEntity<ApiResponse<List<Media>>> getMediaByPriceRange(@RequestParam(required = false) Double minPrice,
+                                                                         @RequestParam(required = false) Double maxPrice,
+                                                                         WebRequest request) {
+        try {
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            List<Media> mediaList = mediaService.getByPriceRange(catalog, minPrice, maxPrice);
+            return conditional(request, catalog.getETag(mediaList, null),
+                    new ApiResponse<>(true, "Media retrieved successfully", mediaList, 200));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve media by price: " + e.getMessage(), null, 500));
+        }
+    }
+
+    /**
+     * Typeahead suggestions: most popular titles starting with the prefix
+     */
+    @GetMapping("/media/suggest")
+    public ResponseEntity<ApiResponse<List<MediaSuggestion>>> suggestMedia(@RequestParam(defaultValue = "") String prefix,
+                                                                           @RequestParam(defaultValue = "10") int limit,
+                                                                           WebRequest request) {
+        try {
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            List<TitleTrie.Entry> entries = catalog.suggest(prefix, limit);
+            return conditional(request, catalog.getSuggestionsETag(entries),
+                    new ApiResponse<>(true, "Suggestions retrieved successfully", mediaService.toSuggestions(entries), 200));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to retrieve suggestions: " + e.getMessage(), null, 500));
+        }
+    }
+
+    // 304 when the client's copy is current; checkNotModified sets the ETag header either way
+    private static <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest request, String etag, ApiResponse<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
     /**
      * Get specific media by ID
      */
     @GetMapping("/media/{id}")
-    public ResponseEntity<ApiResponse<Media>> getMediaById(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<Media>> getMediaById(@PathVariable String id, WebRequest request) {
         try {
-            Media media = mediaService.getById(id);
+            CatalogSnapshot catalog = mediaService.getCatalog();
+            Media media = mediaService.getById(catalog, id);
             if (media != null) {
-                return ResponseEntity.ok(new ApiResponse<>(true, "Media found", media, 200));
+                if (request.checkNotModified(catalog.getETag(id), catalog.getLastModified())) {
+                    return null;
+                }
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .body(new ApiResponse<>(true, "Media found", media, 200));
             } else {
                 return ResponseEntity.status(404).body(new ApiResponse<>(false, "Media not found with ID: " + id, null, 404));
             }
@@ -216,6 +343,9 @@ public class MediaController {
             );
             Media savedMedia = mediaService.save(media);
             return ResponseEntity.status(201).body(new ApiResponse<>(true, "Media created successfully", savedMedia, 201));
+        } catch (IllegalArgumentException e) {
+            // Unknown media type
+            return ResponseEntity.status(400).body(new ApiResponse<>(false, e.getMessage(), null, 400));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(new ApiResponse<>(false, "Failed to create media: " + e.getMessage(), null, 500));
         }
@@ -2,10 +2,12 @@ package com.bhrugu.api.restapi.controller;
 
 import com.bhrugu.api.restapi.model.User;
 import com.bhrugu.api.restapi.service.UserService;
+import com.bhrugu.api.restapi.service.SessionTokenService;
 import com.bhrugu.api.restapi.dto.UserRegistrationRequest;
 import com.bhrugu.api.restapi.dto.UserAuthenticationRequest;
 import com.bhrugu.api.restapi.dto.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,12 +19,15 @@ import org.springframework.web.bind.annotation.*;
  */
 @RestController
 @RequestMapping("/api/auth")
-@CrossOrigin(origins = "http://localhost:3000") // Allow React app to access this API
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = SessionTokenService.TOKEN_HEADER) // Allow React app to access this API
 public class UserController {
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private SessionTokenService sessionTokens;
+    
     /**
      * 1. POST /api/auth/register - Create new user account
      * @param request User registration request with all required fields
@@ -31,6 +36,9 @@ public class UserController {
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<User>> registerUser(@RequestBody UserRegistrationRequest request) {
         ApiResponse<User> response = userService.registerUser(request);
+        if (isOverloaded(response)) {
+            return serviceUnavailable(response);
+        }
         HttpStatus status = response.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
         return ResponseEntity.status(status).body(response);
     }
@@ -43,8 +51,44 @@ public class UserController {
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<User>> authenticateUser(@RequestBody UserAuthenticationRequest request) {
         ApiResponse<User> response = userService.authenticateUser(request);
-        HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.UNAUTHORIZED;
-        return ResponseEntity.status(status).body(response);
+        if (isOverloaded(response)) {
+            return serviceUnavailable(response);
+        }
+        if (response.isSuccess()) {
+            // Signed session token for later requests (Authorization: Bearer <token>)
+            return ResponseEntity.ok()
+                    .header(SessionTokenService.TOKEN_HEADER, sessionTokens.issue(response.getData().getId()))
+                    .body(response);
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+    
+    /**
+     * 3. POST /api/auth/logout - Revoke the caller's session token
+     * @param authorization Authorization header with the bearer token
+     * @return ApiResponse confirming logout, 401 if the token was not valid
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!sessionTokens.revoke(SessionTokenService.bearerToken(authorization))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid or expired session", 401));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully", "OK"));
+    }
+    
+    /**
+     * 4. GET /api/auth/session - Check the caller's session token
+     * Verified from the token signature alone, without a database lookup
+     * @param authorization Authorization header with the bearer token
+     * @return ApiResponse with the user ID of the session, 401 if the token is not valid
+     */
+    @GetMapping("/session")
+    public ResponseEntity<ApiResponse<String>> getSession(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        SessionTokenService.Session session = sessionTokens.verify(SessionTokenService.bearerToken(authorization));
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid or expired session", 401));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Session is valid", session.getSubjectId()));
     }
     
     /**
@@ -58,4 +102,15 @@ public class UserController {
         HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.NOT_FOUND;
         return ResponseEntity.status(status).body(response);
     }
+    
+    // The password hashing pool was saturated; ask the client to retry shortly
+    private boolean isOverloaded(ApiResponse<?> response) {
+        return !response.isSuccess() && response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+    
+    private <T> ResponseEntity<ApiResponse<T>> serviceUnavailable(ApiResponse<T> response) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
 }
@@ -0,0 +1,54 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Data Transfer Object for typeahead suggestions
+ * Carries only what the search box needs to render and link a title
+ */
+public class MediaSuggestion {
+    
+    @JsonProperty("id")
+    private String id;
+    
+    @JsonProperty("title")
+    private String title;
+    
+    @JsonProperty("type")
+    private String type;
+    
+    // Default constructor
+    public MediaSuggestion() {}
+    
+    // Constructor with all fields
+    public MediaSuggestion(String id, String title, String type) {
+        this.id = id;
+        this.title = title;
+        this.type = type;
+    }
+    
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+}
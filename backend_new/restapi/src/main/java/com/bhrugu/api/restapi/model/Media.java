@@ -1,6 +1,8 @@
 package com.bhrugu.api.restapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,7 +14,7 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * - Collection: media-catalog
  * - Database: streamvault-db
  */
-@Document(collection = "media-catalog")
+@Document(collection = MediaCollection.NAME)
 public class Media {
     
     /**
@@ -29,10 +31,10 @@ public class Media {
     private String title;
     
     /**
-     * Type of media content ("movie" or "tv-show")
+     * Type of media content, stored as its canonical code ("movie" or "tv")
      */
     @Field("type")
-    private String type;
+    private MediaType type;
     
     /**
      * Brief description/synopsis of the content
@@ -53,16 +55,28 @@ public class Media {
     private String posterLarge;
     
     /**
-     * Rental price for the media
+     * Rental price for the media, in cents
      */
-    @Field("rent")
-    private Double rent;
+    @Field("rentCents")
+    private Long rent;
+    
+    /**
+     * Purchase price for the media, in cents
+     */
+    @Field("buyCents")
+    private Long buy;
     
     /**
-     * Purchase price for the media
+     * Prices from documents written before PriceCentsMigration, which kept
+     * decimal amounts in rent/buy; read in cents and dropped on the next price change
      */
+    @Field("rent")
+    @ValueConverter(Cents.LegacyAmountConverter.class)
+    private Long legacyRent;
+    
     @Field("buy")
-    private Double buy;
+    @ValueConverter(Cents.LegacyAmountConverter.class)
+    private Long legacyBuy;
     
     /**
      * Whether this media item is featured (promoted)
@@ -79,12 +93,12 @@ public class Media {
     public Media(String title, String type, String synopsis, String poster, String posterLarge, Double rent, Double buy) {
         this();
         this.title = title;
-        this.type = type;
+        setType(type);
         this.synopsis = synopsis;
         this.poster = poster;
         this.posterLarge = posterLarge;
-        this.rent = rent;
-        this.buy = buy;
+        setRent(rent);
+        setBuy(buy);
     }
     
     // Constructor with featured parameter
@@ -93,6 +107,21 @@ public class Media {
         this.featured = featured;
     }
     
+    // Copy constructor, e.g. so later changes to the original stay out of a catalog snapshot
+    public Media(Media other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.type = other.type;
+        this.synopsis = other.synopsis;
+        this.poster = other.poster;
+        this.posterLarge = other.posterLarge;
+        this.rent = other.rent;
+        this.buy = other.buy;
+        this.legacyRent = other.legacyRent;
+        this.legacyBuy = other.legacyBuy;
+        this.featured = other.featured;
+    }
+    
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -100,8 +129,26 @@ public class Media {
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
     
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    // JSON carries the type as a string label; unknown strings are rejected
+    public String getType() { return type == null ? null : label(type); }
+    public void setType(String type) {
+        MediaType parsed = MediaType.parse(type);
+        if (type != null && parsed == null) {
+            throw new IllegalArgumentException("Unknown media type: " + type);
+        }
+        this.type = parsed;
+    }
+    
+    /**
+     * @return The type string this service uses in API responses ("Movie" / "TV Show")
+     */
+    public static String label(MediaType type) {
+        return type == MediaType.MOVIE ? "Movie" : "TV Show";
+    }
+    
+    @JsonIgnore
+    public MediaType getMediaType() { return type; }
+    public void setMediaType(MediaType type) { this.type = type; }
     
     public String getSynopsis() { return synopsis; }
     public void setSynopsis(String synopsis) { this.synopsis = synopsis; }
@@ -112,11 +159,26 @@ public class Media {
     public String getPosterLarge() { return posterLarge; }
     public void setPosterLarge(String posterLarge) { this.posterLarge = posterLarge; }
     
-    public Double getRent() { return rent; }
-    public void setRent(Double rent) { this.rent = rent; }
+    // JSON carries prices as decimal amounts
+    public Double getRent() { return Cents.toAmount(getRentCents()); }
+    public void setRent(Double rent) { setRentCents(Cents.fromAmount(rent)); }
+    
+    public Double getBuy() { return Cents.toAmount(getBuyCents()); }
+    public void setBuy(Double buy) { setBuyCents(Cents.fromAmount(buy)); }
     
-    public Double getBuy() { return buy; }
-    public void setBuy(Double buy) { this.buy = buy; }
+    @JsonIgnore
+    public Long getRentCents() { return rent != null ? rent : legacyRent; }
+    public void setRentCents(Long rent) {
+        this.rent = rent;
+        this.legacyRent = null;
+    }
+    
+    @JsonIgnore
+    public Long getBuyCents() { return buy != null ? buy : legacyBuy; }
+    public void setBuyCents(Long buy) {
+        this.buy = buy;
+        this.legacyBuy = null;
+    }
     
     public Boolean getFeatured() { return featured; }
     public void setFeatured(Boolean featured) { this.featured = featured; }
@@ -128,8 +190,8 @@ public class Media {
                 ", title='" + title + '\'' +
                 ", type='" + type + '\'' +
                 ", synopsis='" + synopsis + '\'' +
-                ", rent=" + rent +
-                ", buy=" + buy +
+                ", rent=" + getRentCents() +
+                ", buy=" + getBuyCents() +
                 ", featured=" + featured +
                 '}';
     }
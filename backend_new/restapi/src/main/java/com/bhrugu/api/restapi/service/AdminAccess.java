@@ -0,0 +1,40 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Who may call /api/admin
+ * The caller needs a valid session token (Authorization: Bearer) for a user
+ * whose role is "admin". The token is checked first, so unauthenticated
+ * calls never reach the database.
+ */
+@Component
+public class AdminAccess {
+
+    private static final String ADMIN_ROLE = "admin";
+
+    @Autowired
+    private SessionTokenService sessionTokens;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Check the caller of an admin operation
+     * @param authorization Authorization header with the bearer token
+     * @return null if the caller is an admin, otherwise 401 (no valid session) or 403
+     */
+    public HttpStatus deny(String authorization) {
+        SessionTokenService.Session session = sessionTokens.verify(SessionTokenService.bearerToken(authorization));
+        if (session == null) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        boolean admin = userRepository.findById(session.getSubjectId())
+                .map(user -> ADMIN_ROLE.equals(user.getRole()))
+                .orElse(false);
+        return admin ? null : HttpStatus.FORBIDDEN;
+    }
+}
@@ -0,0 +1,177 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully serialized catalog list responses, per view and per content coding
+ * The ApiResponse wrapper around a view is rendered to JSON once, gzipped
+ * once at maximum compression, and the bytes are reused until the catalog
+ * snapshot changes. Serving a view is then a lookup plus a socket write.
+ *
+ * Renderings are tied to the snapshot they were built from: a request for a
+ * newer snapshot discards them all, so no explicit invalidation is needed.
+ * Two requests racing on a cold view may both render it; the results are
+ * identical and one of them is kept.
+ *
+ * The wrapper's timestamp is the time the view was rendered, not the time
+ * of the request.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private static final CatalogSnapshot.View[] VIEWS = CatalogSnapshot.View.values();
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Renderings> renderings = new AtomicReference<>();
+
+    public CatalogResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * One view rendered as identity and (if it pays off) gzip bytes
+     */
+    public static final class Rendering {
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipETag;
+
+        Rendering(byte[] identity, byte[] gzip, String etag) {
+            this.identity = identity;
+            this.gzip = gzip;
+            this.etag = etag;
+            // One validator per coding, so a 304 never revalidates a cached body of the other coding
+            this.gzipETag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        /**
+         * @param gzip Whether the client accepts gzip
+         * @return Bytes to send; do not modify
+         */
+        public byte[] body(boolean gzip) {
+            return useGzip(gzip) ? this.gzip : identity;
+        }
+
+        /**
+         * @param gzip Whether the client accepts gzip
+         * @return Content-Encoding to send, or null for identity
+         */
+        public String contentEncoding(boolean gzip) {
+            return useGzip(gzip) ? "gzip" : null;
+        }
+
+        public String etag(boolean gzip) {
+            return useGzip(gzip) ? gzipETag : etag;
+        }
+
+        private boolean useGzip(boolean accepted) {
+            return accepted && gzip != null;
+        }
+    }
+
+    // All renderings of one snapshot, filled lazily per view
+    private static final class Renderings {
+        private final CatalogSnapshot catalog;
+        private final AtomicReferenceArray<Rendering> views = new AtomicReferenceArray<>(VIEWS.length);
+
+        Renderings(CatalogSnapshot catalog) {
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Get the serialized response for a catalog view
+     * @param catalog The snapshot to serve; renderings of older snapshots are dropped
+     * @param view The list view
+     * @param message The ApiResponse message, which must be the same for every call with this view
+     * @return The cached rendering
+     */
+    public Rendering get(CatalogSnapshot catalog, CatalogSnapshot.View view, String message) {
+        Renderings current = renderings.get();
+        if (current == null || current.catalog != catalog) {
+            Renderings fresh = new Renderings(catalog);
+            // Losing the race to another request for the same snapshot is fine; use its renderings
+            current = renderings.compareAndSet(current, fresh) ? fresh : renderings.get();
+            if (current.catalog != catalog) {
+                // An even newer (or older) snapshot won; render uncached for this request
+                return render(catalog, view, message);
+            }
+        }
+        Rendering rendering = current.views.get(view.ordinal());
+        if (rendering == null) {
+            rendering = render(catalog, view, message);
+            if (!current.views.compareAndSet(view.ordinal(), null, rendering)) {
+                rendering = current.views.get(view.ordinal());
+            }
+        }
+        return rendering;
+    }
+
+    /**
+     * Check an Accept-Encoding header for gzip
+     * An explicit gzip entry wins over *, so "gzip;q=0, *" refuses gzip.
+     * @param acceptEncoding The header value, or null
+     * @return true if gzip (or, failing that, *) is listed without q=0
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean gzip = name.equalsIgnoreCase("gzip");
+            if (!gzip && !name.equals("*")) {
+                continue;
+            }
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (gzip) {
+                return accepted;
+            }
+            wildcard = accepted;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private Rendering render(CatalogSnapshot catalog, CatalogSnapshot.View view, String message) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(new ApiResponse<>(true, message, catalog.getView(view), 200));
+            byte[] gzip = gzip(identity);
+            // Tiny views can grow when compressed; serve those uncompressed
+            return new Rendering(identity, gzip.length < identity.length ? gzip : null, catalog.getETag(view));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        // Compressed once per snapshot, so spend the CPU on the smallest output
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
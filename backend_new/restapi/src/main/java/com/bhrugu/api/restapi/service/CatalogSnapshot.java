@@ -0,0 +1,605 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable, point-in-time view of the media catalog
+ * Holds the full catalog plus the per-type and per-featured views
+ * served by the home and listings pages, grouped in EnumMaps by MediaType
+ *
+ * Snapshots are never modified after construction. Media enter as copies
+ * (of / withMedia), so a caller that keeps changing the object it saved
+ * cannot reach into a published snapshot; the items a snapshot hands out
+ * are shared between requests and must not be modified either. Writes
+ * produce a new snapshot through withMedia / withoutMedia, which
+ * MediaCatalogCache then swaps in atomically, so readers never see a
+ * half-applied change.
+ * Those patch the previous snapshot rather than rebuilding it: the item's
+ * catalog position comes from an id -> position map, views of media types
+ * the write does not touch are shared, sorted views get a binary-search
+ * insert or remove, and the search index, trie and ETags are patched for
+ * the one item. An update in place shares the position map; an insert or
+ * delete copies the catalog arrays (and a delete renumbers the positions
+ * after it) but never sorts or re-indexes the other titles. Bulk writes
+ * rebuild once instead.
+ *
+ * Each view is also kept sorted by id for keyset pagination: a page is a
+ * binary search for the cursor followed by a sublist, independent of depth.
+ * Title search is answered by a TitleSearchIndex built with the snapshot.
+ * Typeahead is answered by a persistent TitleTrie that writes update
+ * incrementally instead of rebuilding. Price ranges are answered from the
+ * catalog sorted by buy price, with the prices in cents held in a parallel
+ * long[] so the bounds are two binary searches over primitives.
+ *
+ * For conditional GETs every list view and every item carries a weak ETag
+ * derived from a 64-bit content fingerprint, so ETags survive restarts and
+ * agree across instances. They are weak because they cover the catalog
+ * content only: the ApiResponse envelope around it (its timestamp) differs
+ * between renderings that carry the same ETag. Query results (pages, searches, price ranges,
+ * suggestions) get one from the fingerprints of the items they contain. MediaCatalogCache stamps each installed snapshot
+ * with a monotonically increasing catalog version and its Last-Modified time.
+ */
+public final class CatalogSnapshot {
+
+    // Suggestions cached per trie node, i.e. the most /api/media/suggest can return
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * Precomputed list views served by the catalog endpoints
+     */
+    public enum View {
+        MOVIES(MediaType.MOVIE, false),
+        TV_SHOWS(MediaType.TV_SHOW, false),
+        FEATURED_MOVIES(MediaType.MOVIE, true),
+        FEATURED_TV_SHOWS(MediaType.TV_SHOW, true);
+
+        private final MediaType type;
+        private final boolean featured;
+
+        View(MediaType type, boolean featured) {
+            this.type = type;
+            this.featured = featured;
+        }
+    }
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Cheapest first, then by id, so a patched snapshot orders equal prices like a rebuilt one
+    private static final Comparator<Media> BY_BUY_PRICE = Comparator
+            .comparingLong(Media::getBuyCents)
+            .thenComparing(Media::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final List<Media> all;
+    private final Map<String, Media> byId;
+    // Catalog order position of each item with an id
+    private final Map<String, Integer> positions;
+    private final EnumMap<MediaType, List<Media>> byType;
+    private final EnumMap<MediaType, List<Media>> featuredByType;
+    private final List<Media> allById;
+    private final EnumMap<MediaType, List<Media>> byTypeSortedById;
+    private final List<Media> byBuyPrice;
+    private final long[] buyCents;
+    private final TitleSearchIndex searchIndex;
+    private final TitleTrie suggestions;
+    private final ToLongFunction<Media> popularity;
+    private final Map<String, Long> itemFingerprints;
+    private final Map<String, String> itemETags;
+    private final EnumMap<View, String> viewETags;
+    private final long fingerprint;
+    private final long version;
+    private final long lastModified;
+
+    private CatalogSnapshot(List<Media> media, TitleTrie suggestions, ToLongFunction<Media> popularity) {
+        EnumMap<MediaType, List<Media>> typeLists = new EnumMap<>(MediaType.class);
+        EnumMap<MediaType, List<Media>> featuredLists = new EnumMap<>(MediaType.class);
+        for (MediaType type : MediaType.values()) {
+            typeLists.put(type, new ArrayList<>());
+            featuredLists.put(type, new ArrayList<>());
+        }
+        Map<String, Media> index = new HashMap<>(Math.max(16, media.size() * 2));
+        Map<String, Integer> positions = new HashMap<>(Math.max(16, media.size() * 2));
+        Map<String, Long> itemFingerprints = new HashMap<>(Math.max(16, media.size() * 2));
+        Map<String, String> etags = new HashMap<>(Math.max(16, media.size() * 2));
+
+        for (int i = 0; i < media.size(); i++) {
+            Media item = media.get(i);
+            if (item.getId() != null) {
+                long itemFingerprint = fingerprint(item);
+                index.put(item.getId(), item);
+                positions.put(item.getId(), i);
+                itemFingerprints.put(item.getId(), itemFingerprint);
+                etags.put(item.getId(), etag(itemFingerprint));
+            }
+            MediaType type = item.getMediaType();
+            if (type != null) {
+                typeLists.get(type).add(item);
+                if (Boolean.TRUE.equals(item.getFeatured())) {
+                    featuredLists.get(type).add(item);
+                }
+            }
+        }
+
+        this.all = Collections.unmodifiableList(new ArrayList<>(media));
+        this.byId = Collections.unmodifiableMap(index);
+        this.positions = Collections.unmodifiableMap(positions);
+        this.byType = new EnumMap<>(MediaType.class);
+        this.featuredByType = new EnumMap<>(MediaType.class);
+        this.byTypeSortedById = new EnumMap<>(MediaType.class);
+        for (MediaType type : MediaType.values()) {
+            byType.put(type, Collections.unmodifiableList(typeLists.get(type)));
+            featuredByType.put(type, Collections.unmodifiableList(featuredLists.get(type)));
+            byTypeSortedById.put(type, sortedById(byType.get(type)));
+        }
+        this.allById = sortedById(this.all);
+        this.byBuyPrice = sortedByBuyPrice(this.all);
+        this.buyCents = prices(byBuyPrice);
+        this.searchIndex = TitleSearchIndex.build(this.all);
+        this.suggestions = suggestions;
+        this.popularity = popularity;
+        this.itemFingerprints = Collections.unmodifiableMap(itemFingerprints);
+        this.itemETags = Collections.unmodifiableMap(etags);
+        this.viewETags = new EnumMap<>(View.class);
+        for (View view : View.values()) {
+            viewETags.put(view, etag(fingerprint(getView(view), itemFingerprints)));
+        }
+        this.fingerprint = fingerprint(all, itemFingerprints);
+        this.version = 0;
+        this.lastModified = 0;
+    }
+
+    // The source with one item removed and/or added; media and positions are the source's with the change applied
+    private CatalogSnapshot(CatalogSnapshot source, List<Media> media, Map<String, Integer> positions,
+                            Media removed, Media added, TitleSearchIndex searchIndex, TitleTrie suggestions) {
+        String id = added != null ? added.getId() : removed.getId();
+        Map<String, Media> index = new HashMap<>(source.byId);
+        Map<String, Long> fingerprints = new HashMap<>(source.itemFingerprints);
+        Map<String, String> etags = new HashMap<>(source.itemETags);
+        if (added == null) {
+            index.remove(id);
+            fingerprints.remove(id);
+            etags.remove(id);
+        } else {
+            long itemFingerprint = fingerprint(added);
+            index.put(id, added);
+            fingerprints.put(id, itemFingerprint);
+            etags.put(id, etag(itemFingerprint));
+        }
+
+        // Only the types the item left or joined need new views
+        EnumSet<MediaType> touched = EnumSet.noneOf(MediaType.class);
+        if (removed != null && removed.getMediaType() != null) {
+            touched.add(removed.getMediaType());
+        }
+        if (added != null && added.getMediaType() != null) {
+            touched.add(added.getMediaType());
+        }
+
+        this.all = Collections.unmodifiableList(media);
+        this.byId = Collections.unmodifiableMap(index);
+        this.positions = positions;
+        this.byType = new EnumMap<>(source.byType);
+        this.featuredByType = new EnumMap<>(source.featuredByType);
+        this.byTypeSortedById = new EnumMap<>(source.byTypeSortedById);
+        for (MediaType type : touched) {
+            List<Media> typeList = new ArrayList<>(source.byType.get(type).size() + 1);
+            List<Media> featuredList = new ArrayList<>();
+            for (Media item : media) {
+                if (item.getMediaType() == type) {
+                    typeList.add(item);
+                    if (Boolean.TRUE.equals(item.getFeatured())) {
+                        featuredList.add(item);
+                    }
+                }
+            }
+            byType.put(type, Collections.unmodifiableList(typeList));
+            featuredByType.put(type, Collections.unmodifiableList(featuredList));
+            Media member = added != null && added.getMediaType() == type ? added : null;
+            byTypeSortedById.put(type, withId(source.byTypeSortedById.get(type), id, member));
+        }
+        this.allById = withId(source.allById, id, added);
+
+        List<Media> priced = new ArrayList<>(source.byBuyPrice);
+        if (removed != null && removed.getBuyCents() != null) {
+            int slot = Collections.binarySearch(priced, removed, BY_BUY_PRICE);
+            if (slot >= 0) {
+                priced.remove(slot);
+            } else {
+                // Only if a served item was modified despite the contract, moving its price
+                priced.removeIf(item -> id.equals(item.getId()));
+            }
+        }
+        if (added != null && added.getBuyCents() != null) {
+            int slot = Collections.binarySearch(priced, added, BY_BUY_PRICE);
+            priced.add(slot < 0 ? -slot - 1 : slot, added);
+        }
+        this.byBuyPrice = Collections.unmodifiableList(priced);
+        this.buyCents = prices(byBuyPrice);
+
+        this.searchIndex = searchIndex;
+        this.suggestions = suggestions;
+        this.popularity = source.popularity;
+        this.itemFingerprints = Collections.unmodifiableMap(fingerprints);
+        this.itemETags = Collections.unmodifiableMap(etags);
+        this.viewETags = new EnumMap<>(source.viewETags);
+        for (View view : View.values()) {
+            if (touched.contains(view.type)) {
+                viewETags.put(view, etag(fingerprint(getView(view), fingerprints)));
+            }
+        }
+        this.fingerprint = fingerprint(all, fingerprints);
+        this.version = 0;
+        this.lastModified = 0;
+    }
+
+    // Same content, new catalog version; shares every structure with the source
+    private CatalogSnapshot(CatalogSnapshot source, long version, long lastModified) {
+        this.all = source.all;
+        this.byId = source.byId;
+        this.positions = source.positions;
+        this.byType = source.byType;
+        this.featuredByType = source.featuredByType;
+        this.allById = source.allById;
+        this.byTypeSortedById = source.byTypeSortedById;
+        this.byBuyPrice = source.byBuyPrice;
+        this.buyCents = source.buyCents;
+        this.searchIndex = source.searchIndex;
+        this.suggestions = source.suggestions;
+        this.popularity = source.popularity;
+        this.itemFingerprints = source.itemFingerprints;
+        this.itemETags = source.itemETags;
+        this.viewETags = source.viewETags;
+        this.fingerprint = source.fingerprint;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    private static List<Media> sortedById(List<Media> media) {
+        List<Media> sorted = new ArrayList<>(media.size());
+        for (Media item : media) {
+            if (item.getId() != null) {
+                sorted.add(item);
+            }
+        }
+        sorted.sort(Comparator.comparing(Media::getId));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    // Copy of an id-sorted view with the item for id replaced, inserted or (member == null) removed
+    private static List<Media> withId(List<Media> sorted, String id, Media member) {
+        int low = 0;
+        int high = sorted.size() - 1;
+        int slot = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = sorted.get(mid).getId().compareTo(id);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                slot = mid;
+                break;
+            }
+        }
+        if (slot < 0 && member == null) {
+            return sorted;
+        }
+        List<Media> next = new ArrayList<>(sorted.size() + 1);
+        next.addAll(sorted);
+        if (slot < 0) {
+            next.add(low, member);
+        } else if (member == null) {
+            next.remove(slot);
+        } else {
+            next.set(slot, member);
+        }
+        return Collections.unmodifiableList(next);
+    }
+
+    // Priced items only, cheapest first, then by id
+    private static List<Media> sortedByBuyPrice(List<Media> media) {
+        List<Media> sorted = new ArrayList<>(media.size());
+        for (Media item : media) {
+            if (item.getBuyCents() != null) {
+                sorted.add(item);
+            }
+        }
+        sorted.sort(BY_BUY_PRICE);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    private static long[] prices(List<Media> byBuyPrice) {
+        long[] cents = new long[byBuyPrice.size()];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = byBuyPrice.get(i).getBuyCents();
+        }
+        return cents;
+    }
+
+    /**
+     * Build a snapshot from a full catalog load
+     * @param media All media documents, in the order they should be listed; copied, not retained
+     * @param popularity Scores used to rank typeahead suggestions
+     * @return A new immutable snapshot
+     */
+    public static CatalogSnapshot of(List<Media> media, ToLongFunction<Media> popularity) {
+        List<Media> copies = new ArrayList<>(media.size());
+        TitleTrie trie = TitleTrie.empty(MAX_SUGGESTIONS);
+        for (Media item : media) {
+            Media copy = new Media(item);
+            copies.add(copy);
+            if (copy.getId() != null) {
+                trie = trie.insert(suggestionEntry(copy, popularity));
+            }
+        }
+        return new CatalogSnapshot(copies, trie, popularity);
+    }
+
+    /**
+     * Build an empty snapshot (e.g. after deleteAll)
+     * @param popularity Scores used to rank typeahead suggestions
+     * @return A new empty snapshot
+     */
+    public static CatalogSnapshot empty(ToLongFunction<Media> popularity) {
+        return new CatalogSnapshot(Collections.emptyList(), TitleTrie.empty(MAX_SUGGESTIONS), popularity);
+    }
+
+    private static TitleTrie.Entry suggestionEntry(Media media, ToLongFunction<Media> popularity) {
+        return new TitleTrie.Entry(media.getId(), media.getTitle(), media.getType(), popularity.applyAsLong(media));
+    }
+
+    /**
+     * Return a copy of this snapshot with the given media inserted or replaced
+     * Replaced items keep their position so list ordering stays stable
+     * @param saved The saved media (must carry its generated id); copied, not retained
+     * @return A new snapshot containing the media
+     */
+    public CatalogSnapshot withMedia(Media saved) {
+        Media media = new Media(saved);
+        List<Media> next = new ArrayList<>(all.size() + 1);
+        next.addAll(all);
+        if (media.getId() == null) {
+            // Nothing to patch by; only happens for documents that were never saved
+            next.add(media);
+            return new CatalogSnapshot(next, suggestions, popularity);
+        }
+        TitleTrie trie = suggestions;
+        TitleSearchIndex index;
+        Map<String, Integer> nextPositions;
+        Media previous = byId.get(media.getId());
+        if (previous != null) {
+            int position = positions.get(media.getId());
+            next.set(position, media);
+            index = searchIndex.replace(position, media);
+            trie = trie.remove(previous.getTitle(), previous.getId());
+            nextPositions = positions;
+        } else {
+            Map<String, Integer> appended = new HashMap<>(positions);
+            appended.put(media.getId(), next.size());
+            next.add(media);
+            index = searchIndex.append(media);
+            nextPositions = Collections.unmodifiableMap(appended);
+        }
+        trie = trie.insert(suggestionEntry(media, popularity));
+        return new CatalogSnapshot(this, next, nextPositions, previous, media, index, trie);
+    }
+
+    /**
+     * Return a copy of this snapshot without the media with the given id
+     * @param id The MongoDB ObjectId as string
+     * @return A new snapshot, or this snapshot if the id is not present
+     */
+    public CatalogSnapshot withoutMedia(String id) {
+        if (!byId.containsKey(id)) {
+            return this;
+        }
+        Media previous = byId.get(id);
+        int position = positions.get(id);
+        List<Media> next = new ArrayList<>(all);
+        next.remove(position);
+        // Everything after the removed item moves up one place
+        Map<String, Integer> nextPositions = new HashMap<>(positions);
+        nextPositions.remove(id);
+        for (int i = position; i < next.size(); i++) {
+            if (next.get(i).getId() != null) {
+                nextPositions.put(next.get(i).getId(), i);
+            }
+        }
+        TitleTrie trie = suggestions.remove(previous.getTitle(), id);
+        return new CatalogSnapshot(this, next, Collections.unmodifiableMap(nextPositions), previous, null,
+                searchIndex.remove(position), trie);
+    }
+
+    /**
+     * Return this snapshot stamped with a catalog version
+     * @param version Monotonically increasing catalog version
+     * @param lastModified When the catalog content last changed (epoch millis)
+     * @return A snapshot sharing all data with this one
+     */
+    public CatalogSnapshot stamped(long version, long lastModified) {
+        return new CatalogSnapshot(this, version, lastModified);
+    }
+
+    // Read-only views
+    public List<Media> getView(View view) {
+        return view.featured ? featuredByType.get(view.type) : byType.get(view.type);
+    }
+
+    public List<Media> getAll() { return all; }
+    public List<Media> getByType(MediaType type) { return byType.get(type); }
+    public List<Media> getMovies() { return byType.get(MediaType.MOVIE); }
+    public List<Media> getTVShows() { return byType.get(MediaType.TV_SHOW); }
+    public List<Media> getFeaturedMovies() { return featuredByType.get(MediaType.MOVIE); }
+    public List<Media> getFeaturedTVShows() { return featuredByType.get(MediaType.TV_SHOW); }
+
+    /**
+     * Get up to limit items of a view whose id sorts after afterId
+     * @param type The media type, or null for the whole catalog
+     * @param afterId The last id of the previous page, or null for the first page
+     * @param limit Maximum number of items to return
+     * @return Items in ascending id order
+     */
+    public List<Media> pageAfter(MediaType type, String afterId, int limit) {
+        List<Media> view = type == null ? allById : byTypeSortedById.get(type);
+        int start = afterId == null ? 0 : indexAfter(view, afterId);
+        return view.subList(start, Math.min(view.size(), start + limit));
+    }
+
+    // Index of the first item whose id is strictly greater than id
+    private static int indexAfter(List<Media> sorted, String id) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).getId().compareTo(id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the media whose buy price lies within [minCents, maxCents]
+     * @param minCents Lowest buy price in cents, inclusive
+     * @param maxCents Highest buy price in cents, inclusive
+     * @return Matching media, cheapest first; a view, not a copy
+     */
+    public List<Media> priceRange(long minCents, long maxCents) {
+        if (minCents > maxCents) {
+            return Collections.emptyList();
+        }
+        return byBuyPrice.subList(firstAtLeast(buyCents, minCents), firstAtLeast(buyCents, maxCents + 1));
+    }
+
+    // Index of the first price that is >= cents, or prices.length
+    private static int firstAtLeast(long[] prices, long cents) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Case-insensitive title search served by the snapshot's trigram index
+     * @param title The title keyword to search for
+     * @return Matching media, best matches first
+     */
+    public List<Media> searchByTitle(String title) {
+        return searchIndex.search(title);
+    }
+
+    /**
+     * Most popular titles starting with the prefix, served by the snapshot's trie
+     * @param prefix The typed prefix (case-insensitive)
+     * @param limit Maximum number of suggestions, capped at MAX_SUGGESTIONS
+     * @return Suggestions, most popular first
+     */
+    public List<TitleTrie.Entry> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    public Media findById(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    // Conditional GET support
+    public String getETag(View view) { return viewETags.get(view); }
+    public String getETag(String id) { return id == null ? null : itemETags.get(id); }
+    public long getFingerprint() { return fingerprint; }
+
+    /**
+     * Weak ETag for a query result drawn from this snapshot, e.g. a page or a search
+     * @param items The result items in response order
+     * @param extra Response content besides the items (e.g. the next cursor), or null
+     * @return An ETag that changes whenever the result would
+     */
+    public String getETag(List<Media> items, String extra) {
+        long hash = hash(fingerprint(items, itemFingerprints), extra);
+        return etag(hash);
+    }
+
+    /**
+     * Weak ETag for typeahead suggestions drawn from this snapshot
+     * Covers exactly what a suggestion exposes, so a popularity re-rank changes it too.
+     * @param entries The suggestions in response order
+     * @return An ETag that changes whenever the suggestions would
+     */
+    public String getSuggestionsETag(List<TitleTrie.Entry> entries) {
+        long hash = FNV_OFFSET;
+        for (TitleTrie.Entry entry : entries) {
+            hash = hash(hash(hash(hash, entry.getId()), entry.getTitle()), entry.getType());
+        }
+        return etag(hash);
+    }
+    public long getVersion() { return version; }
+    public long getLastModified() { return lastModified; }
+
+    // FNV-1a over every serialized field, with a separator so ("ab", "c") != ("a", "bc")
+    private static long fingerprint(Media media) {
+        long hash = FNV_OFFSET;
+        hash = hash(hash, media.getId());
+        hash = hash(hash, media.getTitle());
+        hash = hash(hash, media.getType());
+        hash = hash(hash, media.getSynopsis());
+        hash = hash(hash, media.getPoster());
+        hash = hash(hash, media.getPosterLarge());
+        hash = hash(hash, String.valueOf(media.getRent()));
+        hash = hash(hash, String.valueOf(media.getBuy()));
+        hash = hash(hash, String.valueOf(media.getFeatured()));
+        return hash;
+    }
+
+    // Ordered combination of item fingerprints; items this snapshot has no fingerprint for are fingerprinted on the spot
+    private static long fingerprint(List<Media> media, Map<String, Long> itemFingerprints) {
+        long hash = FNV_OFFSET;
+        for (Media item : media) {
+            Long itemFingerprint = item.getId() == null ? null : itemFingerprints.get(item.getId());
+            hash = combine(hash, itemFingerprint == null ? fingerprint(item) : itemFingerprint);
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    private static long combine(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String etag(long fingerprint) {
+        return "W/\"" + Long.toHexString(fingerprint) + "\"";
+    }
+
+    public int size() {
+        return all.size();
+    }
+}
@@ -151,7 +151,7 @@ public class CustomerService {
      * @param password The password to validate
      * @return true if password meets requirements
      */
-    private boolean isValidPassword(String password) {
+    public static boolean isValidPassword(String password) {
         if (password == null || password.length() < 6) {
             return false;
         }
@@ -168,7 +168,7 @@ public class CustomerService {
      * @param id The ID to validate
      * @return true if valid ObjectId format
      */
-    private boolean isValidObjectId(String id) {
+    public static boolean isValidObjectId(String id) {
         if (id == null || id.length() != 24) {
             return false;
         }
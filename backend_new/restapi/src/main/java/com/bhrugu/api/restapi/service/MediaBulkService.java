@@ -0,0 +1,133 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.model.Media;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk ingestion of media documents
+ * Sends documents to MongoDB as unordered bulk inserts of catalog.bulk.batch-size
+ * documents each, so seeding N items costs N / batch-size round-trips instead of N.
+ *
+ * Ids are assigned here rather than by the server so the inserted documents can
+ * be applied to the catalog snapshot without reading them back.
+ */
+@Service
+public class MediaBulkService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MediaCatalogCache catalogCache;
+
+    @Value("${catalog.bulk.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Insert a list of media in unordered batches
+     * @param media The documents to insert; ids are assigned to those without one
+     * @return Counts of inserted and failed documents
+     */
+    public BulkImportResult insertAll(List<Media> media) {
+        BulkImportResult result = new BulkImportResult();
+        List<Media> inserted = new ArrayList<>(media.size());
+        for (int from = 0; from < media.size(); from += batchSize) {
+            insertBatch(media.subList(from, Math.min(from + batchSize, media.size())), result, inserted);
+        }
+        catalogCache.putAll(inserted);
+        return result;
+    }
+
+    /**
+     * Import media from a JSON array or an NDJSON stream
+     * The body is read incrementally and flushed every batch, so memory use is
+     * bounded by the batch size rather than the size of the upload. Content after
+     * a top-level array is rejected rather than ignored.
+     * @param body Request body containing either [{...}, {...}] or one document per line
+     * @return Counts of inserted and failed documents
+     * @throws IOException if the body is not valid JSON
+     */
+    public BulkImportResult importMedia(InputStream body) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<Media> inserted = new ArrayList<>();
+        List<Media> batch = new ArrayList<>(batchSize);
+        ObjectReader reader = objectMapper.readerFor(Media.class);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                batch.add(reader.readValue(parser));
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, result, inserted);
+                    batch.clear();
+                }
+                token = parser.nextToken();
+            }
+            if (token == JsonToken.END_ARRAY && (!array || parser.nextToken() != null)) {
+                // e.g. NDJSON lines after an array, which would otherwise be dropped without an error
+                throw new JsonParseException(parser, "Unexpected content after the JSON array");
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch, result, inserted);
+            }
+        } finally {
+            // Batches written before a parse error are in MongoDB, so they belong in the snapshot too
+            catalogCache.putAll(inserted);
+        }
+        return result;
+    }
+
+    private void insertBatch(List<Media> batch, BulkImportResult result, List<Media> inserted) {
+        for (Media media : batch) {
+            if (media.getId() == null) {
+                media.setId(new ObjectId().toHexString());
+            }
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+        operations.insert(batch);
+
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: every document without an error here was written
+            for (BulkWriteError error : e.getErrors()) {
+                failedIndexes.add(error.getIndex());
+                result.addError(batch.get(error.getIndex()).getTitle() + ": " + error.getMessage());
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                inserted.add(batch.get(i));
+            }
+        }
+        result.addBatch(batch.size(), batch.size() - failedIndexes.size());
+    }
+}
@@ -0,0 +1,217 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.repository.MediaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through, in-memory cache of the media catalog
+ * Serves all catalog reads from an immutable CatalogSnapshot
+ *
+ * - The first read loads the whole catalog with a single findAll()
+ * - MediaService writes patch the snapshot right after the database write
+ * - A background refresh picks up writes made outside this application
+ *
+ * Readers never lock: they only dereference the current snapshot.
+ * Writers and refreshes are serialized on writeLock so a refresh that
+ * started before a write can never overwrite that write's patch.
+ *
+ * Every installed snapshot is stamped with the next catalog version and the
+ * time it was installed, which the catalog endpoints send as Last-Modified.
+ * A refresh that finds the same content keeps the current version.
+ */
+@Component
+public class MediaCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaCatalogCache.class);
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private MediaPopularity popularity;
+
+    @Value("${catalog.snapshot.refresh-enabled:true}")
+    private boolean refreshEnabled;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    // Serializes writers; current() also holds it across the initial findAll() so only one request loads the catalog
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Bumped by every patch; lets a refresh detect that it raced with a write
+    private long writeGeneration;
+
+    // Catalog version of the installed snapshot; guarded by writeLock
+    private long version;
+
+    /**
+     * Get the current catalog snapshot, loading it on first use
+     * @return The current immutable snapshot
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            current = snapshot.get();
+            if (current == null) {
+                current = install(CatalogSnapshot.of(mediaRepository.findAll(), popularity::score));
+                log.info("Loaded catalog snapshot with {} media items", current.size());
+            }
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reload the snapshot from MongoDB
+     * The reload is discarded if a write was applied while it was running;
+     * the next refresh will pick up a consistent view instead.
+     * @return true if the new snapshot was installed
+     */
+    public boolean reload() {
+        long generation;
+        writeLock.lock();
+        try {
+            generation = writeGeneration;
+        } finally {
+            writeLock.unlock();
+        }
+        List<Media> media = mediaRepository.findAll();
+        CatalogSnapshot fresh = CatalogSnapshot.of(media, popularity::score);
+        writeLock.lock();
+        try {
+            if (generation != writeGeneration) {
+                return false;
+            }
+            CatalogSnapshot current = snapshot.get();
+            if (current != null && current.getFingerprint() == fresh.getFingerprint()) {
+                // Unchanged content keeps its version so client ETags and Last-Modified stay valid
+                snapshot.set(fresh.stamped(current.getVersion(), current.getLastModified()));
+            } else {
+                install(fresh);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Periodically reload the snapshot to catch out-of-band writes
+     * Skipped until the catalog has been read at least once.
+     */
+    @Scheduled(initialDelayString = "${catalog.snapshot.refresh-interval-ms:300000}",
+               fixedDelayString = "${catalog.snapshot.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        if (!refreshEnabled || snapshot.get() == null) {
+            return;
+        }
+        try {
+            if (reload()) {
+                log.debug("Refreshed catalog snapshot ({} media items)", snapshot.get().size());
+            }
+        } catch (Exception e) {
+            // Keep serving the previous snapshot if MongoDB is unreachable
+            log.warn("Catalog snapshot refresh failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a saved or updated media document to the snapshot
+     * @param media The media as returned by the repository save
+     */
+    public void put(Media media) {
+        writeLock.lock();
+        try {
+            writeGeneration++;
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                install(current.withMedia(media));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a bulk insert to the snapshot
+     * Rebuilds the snapshot once instead of patching it per document.
+     * @param media The documents that were inserted
+     */
+    public void putAll(Collection<Media> media) {
+        if (media.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            writeGeneration++;
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                Map<String, Media> merged = new LinkedHashMap<>();
+                for (Media existing : current.getAll()) {
+                    merged.put(existing.getId(), existing);
+                }
+                for (Media added : media) {
+                    merged.put(added.getId(), added);
+                }
+                install(CatalogSnapshot.of(new ArrayList<>(merged.values()), popularity::score));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted media document from the snapshot
+     * @param id The MongoDB ObjectId as string
+     */
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            writeGeneration++;
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                install(current.withoutMedia(id));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the snapshot with an empty catalog (after deleteAll)
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            writeGeneration++;
+            install(CatalogSnapshot.empty(popularity::score));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Caller holds writeLock
+    private CatalogSnapshot install(CatalogSnapshot next) {
+        CatalogSnapshot stamped = next.stamped(++version, System.currentTimeMillis());
+        snapshot.set(stamped);
+        return stamped;
+    }
+}
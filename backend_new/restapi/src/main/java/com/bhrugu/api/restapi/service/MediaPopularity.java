@@ -0,0 +1,55 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory popularity score used to rank typeahead suggestions
+ * Score = detail page views since startup + a fixed boost for featured titles
+ *
+ * Views are counted on every successful GET /api/media/{id}. Scores are read
+ * when a title is (re)indexed, i.e. on writes and on each catalog snapshot
+ * refresh, so suggestion ranking trails live view counts by at most one
+ * refresh interval.
+ */
+@Component
+public class MediaPopularity {
+
+    @Value("${catalog.suggest.featured-boost:1000}")
+    private long featuredBoost;
+
+    private final ConcurrentHashMap<String, LongAdder> views = new ConcurrentHashMap<>();
+
+    /**
+     * Count one detail page view
+     * @param id The media id that was viewed
+     */
+    public void recordView(String id) {
+        views.computeIfAbsent(id, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Current popularity score for a media item
+     * @param media The media item
+     * @return Views plus the featured boost when the item is featured
+     */
+    public long score(Media media) {
+        LongAdder count = media.getId() == null ? null : views.get(media.getId());
+        long score = count == null ? 0 : count.sum();
+        if (Boolean.TRUE.equals(media.getFeatured())) {
+            score += featuredBoost;
+        }
+        return score;
+    }
+
+    /**
+     * Forget view counts for a deleted media item
+     * @param id The media id
+     */
+    public void forget(String id) {
+        views.remove(id);
+    }
+}
@@ -1,46 +1,179 @@
 package com.bhrugu.api.restapi.service;
 
+import com.bhrugu.api.restapi.model.Cents;
 import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
 import com.bhrugu.api.restapi.repository.MediaRepository;
 import com.bhrugu.api.restapi.dto.MediaUpdateRequest;
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSuggestion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Service layer for Media operations
+ * Catalog reads are served from the in-memory MediaCatalogCache snapshot;
+ * writes go to MongoDB first and are then applied to the snapshot
+ */
 @Service
 public class MediaService {
 
     @Autowired
     private MediaRepository mediaRepository;
 
+    @Autowired
+    private MediaCatalogCache catalogCache;
+
+    @Autowired
+    private MediaPopularity popularity;
+
+    @Value("${catalog.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Current catalog snapshot, for callers that need several reads to agree
+     * (e.g. a body and the ETag describing it)
+     * @return The current immutable snapshot
+     */
+    public CatalogSnapshot getCatalog() {
+        return catalogCache.current();
+    }
+
     public List<Media> getAllMovies() {
-        return mediaRepository.findByType("Movie");
+        return catalogCache.current().getMovies();
     }
 
     public List<Media> getAllTVShows() {
-        return mediaRepository.findByType("TV Show");
+        return catalogCache.current().getTVShows();
     }
 
     public List<Media> getFeaturedMovies() {
-        return mediaRepository.findByTypeAndFeatured("Movie", true);
+        return catalogCache.current().getFeaturedMovies();
     }
 
     public List<Media> getFeaturedTVShows() {
-        return mediaRepository.findByTypeAndFeatured("TV Show", true);
+        return catalogCache.current().getFeaturedTVShows();
+    }
+
+    /**
+     * Get one page of media using keyset pagination on id
+     * @param type The media type to filter by (any MediaType spelling), or null for all media; an unknown type yields an empty page
+     * @param cursor Continuation token from the previous page, or null for the first page
+     * @param size Requested page size, clamped to catalog.page.max-size
+     * @return The page with a continuation token if more items exist
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<Media> getMediaPage(String type, String cursor, Integer size) {
+        return getMediaPage(catalogCache.current(), type, cursor, size);
+    }
+
+    /**
+     * Get one page of media from a given snapshot
+     * @param catalog The snapshot the caller also derives its ETag from
+     * @see #getMediaPage(String, String, Integer)
+     */
+    public CursorPage<Media> getMediaPage(CatalogSnapshot catalog, String type, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        String afterId = CursorPage.decodeCursor(cursor);
+
+        MediaType mediaType = MediaType.parse(type);
+        if (type != null && mediaType == null) {
+            return new CursorPage<>(new ArrayList<>(), null, false);
+        }
+
+        // One extra item tells us whether another page exists
+        List<Media> items = catalog.pageAfter(mediaType, afterId, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? CursorPage.encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
     }
 
     public List<Media> searchByTitle(String title) {
-        return mediaRepository.findByTitleContainingIgnoreCase(title);
+        return searchByTitle(catalogCache.current(), title);
+    }
+
+    public List<Media> searchByTitle(CatalogSnapshot catalog, String title) {
+        return catalog.searchByTitle(title);
+    }
+
+    /**
+     * Media within a buy price range, served from the snapshot's price index
+     * @param minPrice Lowest buy price, or null for no lower bound
+     * @param maxPrice Highest buy price, or null for no upper bound
+     * @return Matching media, cheapest first
+     */
+    public List<Media> getByPriceRange(Double minPrice, Double maxPrice) {
+        return getByPriceRange(catalogCache.current(), minPrice, maxPrice);
+    }
+
+    /**
+     * Media within a buy price range, from a given snapshot
+     * @param catalog The snapshot the caller also derives its ETag from
+     * @see #getByPriceRange(Double, Double)
+     */
+    public List<Media> getByPriceRange(CatalogSnapshot catalog, Double minPrice, Double maxPrice) {
+        // Sub-cent bounds round inwards, so 4.995 excludes a 4.99 price
+        long minCents = minPrice == null ? Long.MIN_VALUE : Cents.fromAmount(minPrice, RoundingMode.CEILING);
+        long maxCents = maxPrice == null ? Long.MAX_VALUE - 1 : Cents.fromAmount(maxPrice, RoundingMode.FLOOR);
+        return catalog.priceRange(minCents, maxCents);
+    }
+
+    /**
+     * Typeahead suggestions for the search box
+     * @param prefix The typed prefix (case-insensitive)
+     * @param limit Maximum number of suggestions, capped at CatalogSnapshot.MAX_SUGGESTIONS
+     * @return Most popular titles starting with the prefix
+     */
+    public List<MediaSuggestion> suggest(String prefix, int limit) {
+        return toSuggestions(catalogCache.current().suggest(prefix, limit));
+    }
+
+    /**
+     * Convert trie entries to the suggestion DTOs sent to clients
+     * @param entries Entries from CatalogSnapshot.suggest
+     * @return Suggestions in the same order
+     */
+    public List<MediaSuggestion> toSuggestions(List<TitleTrie.Entry> entries) {
+        List<MediaSuggestion> suggestions = new ArrayList<>(entries.size());
+        for (TitleTrie.Entry entry : entries) {
+            suggestions.add(new MediaSuggestion(entry.getId(), entry.getTitle(), entry.getType()));
+        }
+        return suggestions;
     }
 
     public Media getById(String id) {
-        Optional<Media> media = mediaRepository.findById(id);
-        return media.orElse(null);
+        return getById(catalogCache.current(), id);
+    }
+
+    /**
+     * Look up media in a given snapshot and count the view
+     * @param catalog The snapshot the caller also derived its ETag from
+     * @param id The MongoDB ObjectId as string
+     * @return The media, or null if not found
+     */
+    public Media getById(CatalogSnapshot catalog, String id) {
+        Media media = catalog.findById(id);
+        if (media != null) {
+            popularity.recordView(id);
+        }
+        return media;
     }
 
     public Media save(Media media) {
-        return mediaRepository.save(media);
+        Media saved = mediaRepository.save(media);
+        catalogCache.put(saved);
+        return saved;
     }
 
     public Media update(String id, MediaUpdateRequest request) {
@@ -54,7 +187,9 @@ public class MediaService {
             media.setRent(request.getRent());
             media.setBuy(request.getBuy());
             media.setFeatured(request.getFeatured());
-            return mediaRepository.save(media);
+            Media saved = mediaRepository.save(media);
+            catalogCache.put(saved);
+            return saved;
         }
         return null;
     }
@@ -62,6 +197,8 @@ public class MediaService {
     public boolean delete(String id) {
         if (mediaRepository.existsById(id)) {
             mediaRepository.deleteById(id);
+            catalogCache.remove(id);
+            popularity.forget(id);
             return true;
         }
         return false;
@@ -69,6 +206,7 @@ public class MediaService {
 
     public void deleteAll() {
         mediaRepository.deleteAll();
+        catalogCache.clear();
     }
 
     public long count() {
@@ -76,6 +214,12 @@ public class MediaService {
     }
 
     public List<Media> findByFeatured(boolean featured) {
-        return mediaRepository.findByFeatured(featured);
+        List<Media> result = new ArrayList<>();
+        for (Media media : catalogCache.current().getAll()) {
+            if (Boolean.valueOf(featured).equals(media.getFeatured())) {
+                result.add(media);
+            }
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.bhrugu.api.restapi.service;
+
+/**
+ * Thrown when the password hashing pool is saturated
+ * Callers should answer 503 so clients back off and retry
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Authentication is temporarily overloaded, please retry");
+    }
+}
@@ -0,0 +1,148 @@
+package com.bhrugu.api.restapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for BCrypt hashing and verification
+ * BCrypt (cost 10) burns tens of milliseconds of CPU per call. Running it on a
+ * fixed pool with a bounded queue caps the CPU a login burst can take, so
+ * catalog browsing keeps its share of it.
+ *
+ * The calling request thread still blocks until its hash is done (or
+ * max-wait-ms passes), so a burst can park up to pool-size + queue-capacity
+ * request threads here; only rejected callers are released at once.
+ *
+ * Admission control:
+ * - At most auth.hashing.pool-size hashes run at once
+ * - At most auth.hashing.queue-capacity more wait; beyond that callers are
+ *   rejected immediately with PasswordHashingBusyException
+ * - A caller that has waited auth.hashing.max-wait-ms in total gives up the
+ *   same way (the queued task is cancelled)
+ *
+ * Metrics: auth.hashing.queue.wait, auth.hashing.time (timers),
+ * auth.hashing.rejected (counter), auth.hashing.queue.depth and
+ * auth.hashing.active (gauges).
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+
+    private final Timer queueWait;
+    private final Timer hashTime;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry registry,
+                                   @Value("${auth.hashing.pool-size:0}") int poolSize,
+                                   @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${auth.hashing.max-wait-ms:2000}") long maxWaitMs) {
+        // 0 = one worker per available core
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMs = maxWaitMs;
+
+        this.queueWait = Timer.builder("auth.hashing.queue.wait")
+                .description("Time a password hash waited for a worker")
+                .register(registry);
+        this.hashTime = Timer.builder("auth.hashing.time")
+                .description("Time spent in BCrypt per call")
+                .register(registry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+                .description("Password hashes refused because the pool was saturated")
+                .register(registry);
+        Gauge.builder("auth.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    /**
+     * Check a raw password against a BCrypt hash on the hashing pool
+     * @param rawPassword The password as typed
+     * @param encodedPassword The stored BCrypt hash
+     * @return true if the password matches
+     * @throws PasswordHashingBusyException if the pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a raw password on the hashing pool
+     * @param rawPassword The password to hash
+     * @return The BCrypt hash
+     * @throws PasswordHashingBusyException if the pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
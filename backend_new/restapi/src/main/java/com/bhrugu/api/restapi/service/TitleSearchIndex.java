@@ -0,0 +1,391 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable inverted trigram index over Media titles
+ * Answers case-insensitive "title contains" searches without scanning the catalog
+ *
+ * How a query is answered:
+ * 1. Split the lowercased query into its distinct 3-character grams
+ * 2. Intersect the posting lists of those grams, smallest first
+ * 3. Verify each candidate with a real substring check (grams can match out of order)
+ * 4. Rank: exact title, then title prefix, then word prefix, then any substring
+ *
+ * Queries shorter than three characters have no trigram and fall back to a
+ * scan over the pre-lowercased titles, which is still far cheaper than a
+ * MongoDB $regex collection scan.
+ *
+ * Posting lists are sorted int arrays keyed by a packed long, kept in two
+ * parallel sorted arrays rather than a map to keep the index compact.
+ *
+ * Single-document writes produce a patched copy (replace / append / remove)
+ * that shares every posting list the write does not touch, so a catalog
+ * write costs a few array copies rather than a full rebuild.
+ */
+public final class TitleSearchIndex {
+
+    private static final int[] NO_POSTINGS = new int[0];
+    private static final long[] NO_GRAMS = new long[0];
+
+    private final Media[] media;
+    private final String[] normalizedTitles;
+    private final long[] grams;
+    private final int[][] postings;
+
+    private TitleSearchIndex(List<Media> catalog) {
+        this.media = catalog.toArray(new Media[0]);
+        this.normalizedTitles = new String[media.length];
+
+        Map<Long, IntList> builder = new HashMap<>();
+        for (int doc = 0; doc < media.length; doc++) {
+            String title = normalize(media[doc].getTitle());
+            normalizedTitles[doc] = title;
+            for (int i = 0; i + 3 <= title.length(); i++) {
+                // Documents are visited in order, so a gram seen twice in one title
+                // only needs to be compared with the last posting
+                IntList list = builder.computeIfAbsent(pack(title, i), key -> new IntList());
+                if (list.size == 0 || list.values[list.size - 1] != doc) {
+                    list.add(doc);
+                }
+            }
+        }
+
+        this.grams = new long[builder.size()];
+        int g = 0;
+        for (Long gram : builder.keySet()) {
+            grams[g++] = gram;
+        }
+        Arrays.sort(grams);
+        this.postings = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            postings[i] = builder.get(grams[i]).toArray();
+        }
+    }
+
+    private TitleSearchIndex(Media[] media, String[] normalizedTitles, long[] grams, int[][] postings) {
+        this.media = media;
+        this.normalizedTitles = normalizedTitles;
+        this.grams = grams;
+        this.postings = postings;
+    }
+
+    /**
+     * Build an index over the given catalog
+     * @param catalog Media in listing order; ties in ranking keep this order
+     * @return A new immutable index
+     */
+    public static TitleSearchIndex build(List<Media> catalog) {
+        return new TitleSearchIndex(catalog);
+    }
+
+    /**
+     * Find media whose title contains the query, ignoring case
+     * Same matches as MediaRepository.findByTitleContainingIgnoreCase, ranked by relevance
+     * @param query The title keyword to search for
+     * @return Ranked list of matching media
+     */
+    public List<Media> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(media));
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        if (needle.length() < 3) {
+            for (int doc = 0; doc < media.length; doc++) {
+                addIfMatch(hits, doc, needle);
+            }
+        } else {
+            for (int doc : candidates(needle)) {
+                addIfMatch(hits, doc, needle);
+            }
+        }
+
+        hits.sort(null);
+        List<Media> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            results.add(media[hit.doc]);
+        }
+        return results;
+    }
+
+    public int size() {
+        return media.length;
+    }
+
+    /**
+     * Return a copy of this index with the document at the given position replaced
+     * @param doc Position of the document in the indexed catalog
+     * @param item The new version of the document
+     * @return The patched index (this index is unchanged)
+     */
+    public TitleSearchIndex replace(int doc, Media item) {
+        Media[] nextMedia = media.clone();
+        String[] nextTitles = normalizedTitles.clone();
+        nextMedia[doc] = item;
+        nextTitles[doc] = normalize(item.getTitle());
+        return patched(nextMedia, nextTitles, doc, gramsOf(normalizedTitles[doc]), gramsOf(nextTitles[doc]));
+    }
+
+    /**
+     * Return a copy of this index with a document added at the end of the catalog
+     * @param item The new document
+     * @return The patched index (this index is unchanged)
+     */
+    public TitleSearchIndex append(Media item) {
+        Media[] nextMedia = Arrays.copyOf(media, media.length + 1);
+        String[] nextTitles = Arrays.copyOf(normalizedTitles, media.length + 1);
+        nextMedia[media.length] = item;
+        nextTitles[media.length] = normalize(item.getTitle());
+        return patched(nextMedia, nextTitles, media.length, NO_GRAMS, gramsOf(nextTitles[media.length]));
+    }
+
+    /**
+     * Return a copy of this index without the document at the given position
+     * Later documents move up by one, so every posting list past the position is renumbered.
+     * @param doc Position of the document in the indexed catalog
+     * @return The patched index (this index is unchanged)
+     */
+    public TitleSearchIndex remove(int doc) {
+        Media[] nextMedia = new Media[media.length - 1];
+        String[] nextTitles = new String[media.length - 1];
+        System.arraycopy(media, 0, nextMedia, 0, doc);
+        System.arraycopy(media, doc + 1, nextMedia, doc, media.length - doc - 1);
+        System.arraycopy(normalizedTitles, 0, nextTitles, 0, doc);
+        System.arraycopy(normalizedTitles, doc + 1, nextTitles, doc, media.length - doc - 1);
+
+        long[] nextGrams = new long[grams.length];
+        int[][] nextPostings = new int[grams.length][];
+        int size = 0;
+        for (int i = 0; i < grams.length; i++) {
+            int[] list = postings[i];
+            if (list[list.length - 1] < doc) {
+                // Entirely before the removed document: shared as is
+                nextGrams[size] = grams[i];
+                nextPostings[size++] = list;
+                continue;
+            }
+            int[] renumbered = new int[list.length];
+            int count = 0;
+            for (int value : list) {
+                if (value != doc) {
+                    renumbered[count++] = value > doc ? value - 1 : value;
+                }
+            }
+            if (count > 0) {
+                nextGrams[size] = grams[i];
+                nextPostings[size++] = count == list.length ? renumbered : Arrays.copyOf(renumbered, count);
+            }
+        }
+        return new TitleSearchIndex(nextMedia, nextTitles, Arrays.copyOf(nextGrams, size), Arrays.copyOf(nextPostings, size));
+    }
+
+    // Move doc from the posting lists of removed grams to those of added grams in one merge pass
+    private TitleSearchIndex patched(Media[] nextMedia, String[] nextTitles, int doc, long[] removed, long[] added) {
+        long[] nextGrams = new long[grams.length + added.length];
+        int[][] nextPostings = new int[grams.length + added.length][];
+        int size = 0;
+        int i = 0;
+        int r = 0;
+        int a = 0;
+        while (i < grams.length || a < added.length) {
+            long gram = i < grams.length && (a >= added.length || grams[i] <= added[a]) ? grams[i] : added[a];
+            int[] list = i < grams.length && grams[i] == gram ? postings[i++] : NO_POSTINGS;
+            while (r < removed.length && removed[r] < gram) {
+                r++;
+            }
+            boolean remove = r < removed.length && removed[r] == gram;
+            boolean add = a < added.length && added[a] == gram;
+            if (add) {
+                a++;
+            }
+            if (remove && !add) {
+                list = withoutPosting(list, doc);
+            } else if (add && !remove) {
+                list = withPosting(list, doc);
+            }
+            if (list.length > 0) {
+                nextGrams[size] = gram;
+                nextPostings[size++] = list;
+            }
+        }
+        return new TitleSearchIndex(nextMedia, nextTitles, Arrays.copyOf(nextGrams, size), Arrays.copyOf(nextPostings, size));
+    }
+
+    private static int[] withPosting(int[] list, int doc) {
+        int slot = Arrays.binarySearch(list, doc);
+        if (slot >= 0) {
+            return list;
+        }
+        int at = -slot - 1;
+        int[] next = new int[list.length + 1];
+        System.arraycopy(list, 0, next, 0, at);
+        next[at] = doc;
+        System.arraycopy(list, at, next, at + 1, list.length - at);
+        return next;
+    }
+
+    private static int[] withoutPosting(int[] list, int doc) {
+        int slot = Arrays.binarySearch(list, doc);
+        if (slot < 0) {
+            return list;
+        }
+        int[] next = new int[list.length - 1];
+        System.arraycopy(list, 0, next, 0, slot);
+        System.arraycopy(list, slot + 1, next, slot, list.length - slot - 1);
+        return next;
+    }
+
+    // Distinct trigrams of a normalized title, sorted
+    private static long[] gramsOf(String title) {
+        if (title.length() < 3) {
+            return NO_GRAMS;
+        }
+        long[] result = new long[title.length() - 2];
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            result[i] = pack(title, i);
+        }
+        Arrays.sort(result);
+        int distinct = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (distinct == 0 || result[distinct - 1] != result[i]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private void addIfMatch(List<Hit> hits, int doc, String needle) {
+        String title = normalizedTitles[doc];
+        int position = title.indexOf(needle);
+        if (position < 0) {
+            return;
+        }
+        int rank;
+        if (position == 0) {
+            rank = title.length() == needle.length() ? 0 : 1;
+        } else if (!Character.isLetterOrDigit(title.charAt(position - 1))) {
+            rank = 2;
+        } else {
+            rank = 3;
+        }
+        hits.add(new Hit(doc, rank, title.length()));
+    }
+
+    // Intersect the posting lists of every distinct trigram in the query
+    private int[] candidates(String needle) {
+        List<int[]> lists = new ArrayList<>();
+        long[] seen = new long[needle.length() - 2];
+        int distinct = 0;
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            long gram = pack(needle, i);
+            boolean duplicate = false;
+            for (int j = 0; j < distinct; j++) {
+                if (seen[j] == gram) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (duplicate) {
+                continue;
+            }
+            seen[distinct++] = gram;
+            int slot = Arrays.binarySearch(grams, gram);
+            if (slot < 0) {
+                return NO_POSTINGS;
+            }
+            lists.add(postings[slot]);
+        }
+
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int count = 0;
+        int j = 0;
+        for (int value : small) {
+            // Gallop through the larger list; it is usually much longer
+            int step = 1;
+            while (j + step < large.length && large[j + step] < value) {
+                j += step;
+                step <<= 1;
+            }
+            int slot = Arrays.binarySearch(large, j, Math.min(large.length, j + step + 1), value);
+            if (slot >= 0) {
+                out[count++] = value;
+                j = slot + 1;
+            } else {
+                j = -slot - 1;
+            }
+            if (j >= large.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static long pack(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // Ranked search hit; lower rank first, then shorter titles, then listing order
+    private static final class Hit implements Comparable<Hit> {
+        final int doc;
+        final int rank;
+        final int length;
+
+        Hit(int doc, int rank, int length) {
+            this.doc = doc;
+            this.rank = rank;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            if (rank != other.rank) {
+                return Integer.compare(rank, other.rank);
+            }
+            if (length != other.length) {
+                return Integer.compare(length, other.length);
+            }
+            return Integer.compare(doc, other.doc);
+        }
+    }
+
+    // Growable int array used while building posting lists
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.bhrugu.api.restapi.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Persistent (immutable) radix trie over lowercased media titles for typeahead
+ *
+ * Every node caches the top-k entries of its subtree by popularity score, so a
+ * suggestion lookup is a walk down at most prefix.length() characters followed
+ * by returning a precomputed array; no subtree traversal happens at query time.
+ *
+ * Inserts and removals copy only the nodes on the affected path and return a
+ * new trie, so the old version stays valid for readers that still hold it.
+ * Nodes store their edges in small sorted arrays instead of maps to keep the
+ * structure compact.
+ */
+public final class TitleTrie {
+
+    /**
+     * One suggestable title with the popularity score it was indexed with
+     */
+    public static final class Entry {
+        private final String id;
+        private final String title;
+        private final String type;
+        private final long score;
+
+        public Entry(String id, String title, String type, long score) {
+            this.id = id;
+            this.title = title;
+            this.type = type;
+            this.score = score;
+        }
+
+        public String getId() { return id; }
+        public String getTitle() { return title; }
+        public String getType() { return type; }
+        public long getScore() { return score; }
+    }
+
+    // Highest score first, then alphabetical, then id for a total order;
+    // untitled media are indexed at the root and sort before titled ones
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::getScore).reversed()
+            .thenComparing(Entry::getTitle, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Entry::getId);
+
+    private static final String[] NO_LABELS = new String[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final class Node {
+        final String[] labels;
+        final Node[] children;
+        final Entry[] terminals;
+        final Entry[] top;
+
+        Node(String[] labels, Node[] children, Entry[] terminals, int k) {
+            this.labels = labels;
+            this.children = children;
+            this.terminals = terminals;
+            this.top = topK(children, terminals, k);
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        // Index of the edge starting with c, or -(insertion point) - 1
+        int edge(char c) {
+            int low = 0;
+            int high = labels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = labels[mid].charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+    }
+
+    private final Node root;
+    private final int k;
+
+    private TitleTrie(Node root, int k) {
+        this.root = root;
+        this.k = k;
+    }
+
+    /**
+     * Create an empty trie
+     * @param k Number of suggestions cached per node (the maximum a lookup can return)
+     * @return An empty trie
+     */
+    public static TitleTrie empty(int k) {
+        return new TitleTrie(new Node(NO_LABELS, NO_CHILDREN, NO_ENTRIES, k), k);
+    }
+
+    /**
+     * Return a trie that also contains the given entry
+     * @param entry The title to index; an existing entry with the same id and title is replaced
+     * @return The new trie (this trie is unchanged)
+     */
+    public TitleTrie insert(Entry entry) {
+        String key = normalize(entry.getTitle());
+        return new TitleTrie(insert(root, key, entry), k);
+    }
+
+    /**
+     * Return a trie without the entry for the given id under the given title
+     * @param title The title the entry was indexed under
+     * @param id The media id
+     * @return The new trie, or this trie if nothing was removed
+     */
+    public TitleTrie remove(String title, String id) {
+        Node next = remove(root, normalize(title), id);
+        return next == root ? this : new TitleTrie(next, k);
+    }
+
+    /**
+     * Get the most popular titles starting with the prefix (case-insensitive)
+     * @param prefix The typed prefix; empty returns the most popular titles overall
+     * @param limit Maximum number of suggestions, capped at k
+     * @return Suggestions, most popular first
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        String remaining = normalize(prefix);
+        Node node = root;
+        while (!remaining.isEmpty()) {
+            int slot = node.edge(remaining.charAt(0));
+            if (slot < 0) {
+                return Collections.emptyList();
+            }
+            String label = node.labels[slot];
+            if (label.startsWith(remaining)) {
+                // The prefix ends inside this edge: the whole subtree matches
+                node = node.children[slot];
+                break;
+            }
+            if (!remaining.startsWith(label)) {
+                return Collections.emptyList();
+            }
+            remaining = remaining.substring(label.length());
+            node = node.children[slot];
+        }
+        Entry[] top = node.top;
+        return Collections.unmodifiableList(Arrays.asList(top).subList(0, Math.max(0, Math.min(limit, top.length))));
+    }
+
+    private Node insert(Node node, String key, Entry entry) {
+        if (key.isEmpty()) {
+            return new Node(node.labels, node.children, withEntry(node.terminals, entry), k);
+        }
+        int slot = node.edge(key.charAt(0));
+        if (slot < 0) {
+            Node leaf = new Node(NO_LABELS, NO_CHILDREN, new Entry[] {entry}, k);
+            int at = -slot - 1;
+            return new Node(insertAt(node.labels, at, key), insertAt(node.children, at, leaf), node.terminals, k);
+        }
+
+        String label = node.labels[slot];
+        int common = commonPrefix(label, key);
+        Node child;
+        String childLabel;
+        if (common == label.length()) {
+            child = insert(node.children[slot], key.substring(common), entry);
+            childLabel = label;
+        } else {
+            // Split the edge: label = shared + rest, hang the old child under rest
+            Node split = new Node(new String[] {label.substring(common)},
+                    new Node[] {node.children[slot]}, NO_ENTRIES, k);
+            child = insert(split, key.substring(common), entry);
+            childLabel = label.substring(0, common);
+        }
+        String[] labels = node.labels.clone();
+        Node[] children = node.children.clone();
+        labels[slot] = childLabel;
+        children[slot] = child;
+        return new Node(labels, children, node.terminals, k);
+    }
+
+    private Node remove(Node node, String key, String id) {
+        if (key.isEmpty()) {
+            Entry[] terminals = withoutEntry(node.terminals, id);
+            return terminals == node.terminals ? node : new Node(node.labels, node.children, terminals, k);
+        }
+        int slot = node.edge(key.charAt(0));
+        if (slot < 0 || !key.startsWith(node.labels[slot])) {
+            return node;
+        }
+        String label = node.labels[slot];
+        Node child = remove(node.children[slot], key.substring(label.length()), id);
+        if (child == node.children[slot]) {
+            return node;
+        }
+        if (child.isEmpty()) {
+            return new Node(removeAt(node.labels, slot), removeAt(node.children, slot), node.terminals, k);
+        }
+        String[] labels = node.labels.clone();
+        Node[] children = node.children.clone();
+        if (child.terminals.length == 0 && child.children.length == 1) {
+            // Collapse a pass-through node back into a single edge
+            labels[slot] = label + child.labels[0];
+            children[slot] = child.children[0];
+        } else {
+            children[slot] = child;
+        }
+        return new Node(labels, children, node.terminals, k);
+    }
+
+    private static Entry[] topK(Node[] children, Entry[] terminals, int k) {
+        List<Entry> candidates = new ArrayList<>(terminals.length + children.length * k);
+        Collections.addAll(candidates, terminals);
+        for (Node child : children) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(RANKING);
+        int size = Math.min(k, candidates.size());
+        return candidates.subList(0, size).toArray(NO_ENTRIES);
+    }
+
+    private static Entry[] withEntry(Entry[] entries, Entry entry) {
+        List<Entry> next = new ArrayList<>(entries.length + 1);
+        for (Entry existing : entries) {
+            if (!existing.getId().equals(entry.getId())) {
+                next.add(existing);
+            }
+        }
+        next.add(entry);
+        return next.toArray(NO_ENTRIES);
+    }
+
+    private static Entry[] withoutEntry(Entry[] entries, String id) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].getId().equals(id)) {
+                return removeAt(entries, i);
+            }
+        }
+        return entries;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static <T> T[] insertAt(T[] array, int index, T value) {
+        T[] next = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, next, index + 1, array.length - index);
+        next[index] = value;
+        return next;
+    }
+
+    private static <T> T[] removeAt(T[] array, int index) {
+        T[] next = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, next, index, array.length - index - 1);
+        return next;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,7 +6,6 @@ import com.bhrugu.api.restapi.dto.UserRegistrationRequest;
 import com.bhrugu.api.restapi.dto.UserAuthenticationRequest;
 import com.bhrugu.api.restapi.dto.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 
@@ -21,7 +20,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // BCrypt runs on a bounded pool instead of the request thread
+    @Autowired
+    private PasswordHashingExecutor passwordHashing;
     
     /**
      * Register a new user account
@@ -84,7 +85,7 @@ public class UserService {
             }
             
             // Encrypt password
-            String encryptedPassword = passwordEncoder.encode(password);
+            String encryptedPassword = passwordHashing.encode(password);
             
             // Create new user
             User user = new User(
@@ -100,6 +101,8 @@ public class UserService {
             
             return ApiResponse.success("User registered successfully", savedUser);
             
+        } catch (PasswordHashingBusyException e) {
+            return ApiResponse.error(e.getMessage(), 503);
         } catch (Exception e) {
             return ApiResponse.error("Failed to register user: " + e.getMessage());
         }
@@ -134,12 +137,14 @@ public class UserService {
             User user = userOptional.get();
             
             // Verify password
-            if (!passwordEncoder.matches(password, user.getPassword())) {
+            if (!passwordHashing.matches(password, user.getPassword())) {
                 return ApiResponse.error("Invalid username/email or password");
             }
             
             return ApiResponse.success("Authentication successful", user);
             
+        } catch (PasswordHashingBusyException e) {
+            return ApiResponse.error(e.getMessage(), 503);
         } catch (Exception e) {
             return ApiResponse.error("Failed to authenticate user: " + e.getMessage());
         }
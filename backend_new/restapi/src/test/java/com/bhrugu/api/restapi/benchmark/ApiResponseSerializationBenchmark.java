@@ -0,0 +1,73 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.model.Media;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of ApiResponse bodies: a single media document (the
+ * detail endpoint) and a list of them (the list endpoints), to bytes
+ *
+ * Uses an ObjectMapper with the modules and date handling Spring Boot
+ * configures. Live serialization only; CatalogResponseBenchmark compares it
+ * with the pre-serialized list responses.
+ *
+ * Run from backend_new/restapi (JSON results in target/jmh-result.json):
+ *   mvn -P benchmarks verify -Djmh.include=ApiResponseSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private Media media;
+    private List<Media> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        list = SyntheticCatalog.generate(listSize, 42);
+        media = list.get(0);
+    }
+
+    @Benchmark
+    public byte[] detail() throws Exception {
+        return objectMapper.writeValueAsBytes(new ApiResponse<>(true, "Media retrieved successfully", media, 200));
+    }
+
+    @Benchmark
+    public byte[] list() throws Exception {
+        return objectMapper.writeValueAsBytes(new ApiResponse<>(true, "Movies retrieved successfully", list, 200));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ApiResponseSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
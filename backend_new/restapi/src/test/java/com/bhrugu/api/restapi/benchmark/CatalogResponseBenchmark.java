@@ -0,0 +1,142 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import com.bhrugu.api.restapi.service.CatalogResponseCache;
+import com.bhrugu.api.restapi.service.CatalogSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Live serialization of a catalog view vs. the pre-serialized bytes in CatalogResponseCache
+ *
+ * Every benchmark ends by writing the response body to a sink stream, which
+ * stands in for the servlet output stream. The live variants are what the
+ * list endpoints did before: Jackson over ApiResponse, plus gzip when the
+ * container compresses.
+ *
+ * Run from backend_new/restapi:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.bhrugu.api.restapi.benchmark.CatalogResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogResponseBenchmark {
+
+    private static final String MESSAGE = "Movies retrieved successfully";
+
+    @Param({"50", "1000", "10000"})
+    public int movieCount;
+
+    private ObjectMapper objectMapper;
+    private CatalogSnapshot catalog;
+    private CatalogResponseCache cache;
+    private OutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        // Same modules and date handling as the ObjectMapper Spring Boot configures
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Media> media = new ArrayList<>(movieCount);
+        for (int i = 0; i < movieCount; i++) {
+            Media movie = new Media("Movie title " + i, Media.label(MediaType.MOVIE),
+                    "A synopsis long enough to look like the ones in the seeded catalog, number " + i + ".",
+                    "poster_" + i + ".jpg", "poster_" + i + "_large.jpg", 3.99, 12.99, i % 10 == 0);
+            movie.setId(String.format("%024x", i));
+            media.add(movie);
+        }
+        catalog = CatalogSnapshot.of(media, item -> 0L);
+        cache = new CatalogResponseCache(objectMapper);
+        sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                blackhole.consume(bytes);
+            }
+        };
+    }
+
+    @Benchmark
+    public void liveIdentity() throws IOException {
+        objectMapper.writeValue(nonClosing(sink), response());
+    }
+
+    @Benchmark
+    public void liveGzip() throws IOException {
+        try (GZIPOutputStream out = new GZIPOutputStream(nonClosing(sink))) {
+            objectMapper.writeValue(nonClosing(out), response());
+        }
+    }
+
+    @Benchmark
+    public void cachedIdentity() throws IOException {
+        sink.write(cache.get(catalog, CatalogSnapshot.View.MOVIES, MESSAGE).body(false));
+    }
+
+    @Benchmark
+    public void cachedGzip() throws IOException {
+        sink.write(cache.get(catalog, CatalogSnapshot.View.MOVIES, MESSAGE).body(true));
+    }
+
+    private ApiResponse<List<Media>> response() {
+        return new ApiResponse<>(true, MESSAGE, catalog.getView(CatalogSnapshot.View.MOVIES), 200);
+    }
+
+    // Jackson and GZIPOutputStream close their target; the sink is shared across invocations
+    private static OutputStream nonClosing(OutputStream out) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.flush();
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration and login checks: the password-strength and ObjectId format
+ * validators, and BCrypt verification at the cost CustomerService uses
+ *
+ * The validators are measured on accepted and rejected inputs, since
+ * rejection can exit early. BCrypt runs for milliseconds, so read its score
+ * in the same unit as the others with that in mind.
+ *
+ * Run from backend_new/restapi (JSON results in target/jmh-result.json):
+ *   mvn -P benchmarks verify -Djmh.include=CustomerValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerValidationBenchmark {
+
+    private static final String PASSWORD = "streamvault2024";
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Default strength, as in CustomerService and PasswordHashingExecutor
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean validPassword() {
+        return CustomerService.isValidPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean passwordWithoutDigits() {
+        return CustomerService.isValidPassword("streamvault");
+    }
+
+    @Benchmark
+    public boolean validObjectId() {
+        return CustomerService.isValidObjectId("68922dbd7aae69d406a68782");
+    }
+
+    @Benchmark
+    public boolean malformedObjectId() {
+        return CustomerService.isValidObjectId("68922dbd7aae69d406a6878z");
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
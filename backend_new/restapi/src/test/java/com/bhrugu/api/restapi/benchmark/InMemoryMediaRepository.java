@@ -0,0 +1,86 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import com.bhrugu.api.restapi.repository.MediaRepository;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * MediaRepository stand-in backed by a map, so service benchmarks run offline
+ * and give the same numbers on every machine
+ *
+ * Implements the finders MediaService and MediaCatalogCache use, plus save,
+ * deleteById and count; any other repository method throws
+ * UnsupportedOperationException so a benchmark cannot silently measure a no-op.
+ */
+final class InMemoryMediaRepository {
+
+    private final Map<String, Media> documents = new ConcurrentHashMap<>();
+
+    private InMemoryMediaRepository(List<Media> media) {
+        for (Media item : media) {
+            documents.put(item.getId(), item);
+        }
+    }
+
+    static MediaRepository of(List<Media> media) {
+        InMemoryMediaRepository store = new InMemoryMediaRepository(media);
+        return (MediaRepository) Proxy.newProxyInstance(MediaRepository.class.getClassLoader(),
+                new Class<?>[] {MediaRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args != null) {
+                            throw new UnsupportedOperationException("findAll with arguments");
+                        }
+                        yield store.filter(item -> true);
+                    }
+                    case "findById" -> Optional.ofNullable(store.documents.get((String) args[0]));
+                    case "existsById" -> store.documents.containsKey((String) args[0]);
+                    case "findByType" -> store.filter(item -> item.getMediaType() == args[0]);
+                    case "findByFeatured" -> store.filter(item -> Boolean.valueOf((boolean) args[0]).equals(item.getFeatured()));
+                    case "findByTypeAndFeatured" -> store.filter(item -> item.getMediaType() == args[0]
+                            && Boolean.valueOf((boolean) args[1]).equals(item.getFeatured()));
+                    case "findByTitleContainingIgnoreCase" -> {
+                        String title = ((String) args[0]).toLowerCase(Locale.ROOT);
+                        yield store.filter(item -> item.getTitle().toLowerCase(Locale.ROOT).contains(title));
+                    }
+                    case "save" -> store.save((Media) args[0]);
+                    case "deleteById" -> {
+                        store.documents.remove((String) args[0]);
+                        yield null;
+                    }
+                    case "count" -> (long) store.documents.size();
+                    case "toString" -> "InMemoryMediaRepository(" + store.documents.size() + " documents)";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private List<Media> filter(Predicate<Media> predicate) {
+        List<Media> result = new ArrayList<>();
+        for (Media item : documents.values()) {
+            if (predicate.test(item)) {
+                result.add(item);
+            }
+        }
+        // Insertion order is not kept by the map; sort by id like a natural-order scan
+        result.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return result;
+    }
+
+    private Media save(Media media) {
+        if (media.getId() == null) {
+            media.setId(SyntheticCatalog.id(documents.size() + 1_000_000));
+        }
+        documents.put(media.getId(), media);
+        return media;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compare two JMH JSON result files (-rf json), e.g. from two commits
+ *
+ * Prints one line per benchmark and parameter combination with both scores
+ * and the relative change. Changes larger than the two runs' combined error
+ * are marked with an asterisk; everything else is noise.
+ *
+ * The benchmarks profile runs this after every run against
+ * jmh.baseline (default jmh-baseline.json, not committed):
+ *   cp target/jmh-result.json jmh-baseline.json   # on the base commit
+ *   mvn -P benchmarks verify                       # on the change
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhResultDiff <baseline.json> <result.json>");
+            System.exit(2);
+        }
+        File baseline = new File(args[0]);
+        if (!baseline.isFile()) {
+            System.out.println("No JMH baseline at " + baseline + "; nothing to compare");
+            return;
+        }
+        Map<String, JsonNode> before = scores(baseline);
+        Map<String, JsonNode> after = scores(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Result", "Change");
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode result = entry.getValue();
+            JsonNode base = before.get(entry.getKey());
+            String unit = result.path("scoreUnit").asText();
+            if (base == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", result.path("score").asDouble(), "new", unit);
+                continue;
+            }
+            double old = base.path("score").asDouble();
+            double now = result.path("score").asDouble();
+            double change = old == 0 ? 0 : (now - old) / old * 100;
+            boolean significant = Math.abs(now - old) > errorOf(base) + errorOf(result);
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s %s%n", entry.getKey(), old, now, change,
+                    significant ? "*" : " ", unit);
+        }
+        for (String removed : before.keySet()) {
+            if (!after.containsKey(removed)) {
+                System.out.printf("%-90s %14.3f %14s %9s%n", removed, before.get(removed).path("score").asDouble(), "-", "removed");
+            }
+        }
+    }
+
+    // benchmark name plus parameters -> primaryMetric
+    private static Map<String, JsonNode> scores(File file) throws IOException {
+        Map<String, JsonNode> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.bhrugu.api.restapi.benchmark.", ""));
+            for (Map.Entry<String, JsonNode> param : run.path("params").properties()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            scores.put(key.toString(), run.path("primaryMetric"));
+        }
+        return scores;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
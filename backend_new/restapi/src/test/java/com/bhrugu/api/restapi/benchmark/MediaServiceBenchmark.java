@@ -0,0 +1,119 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.dto.CursorPage;
+import com.bhrugu.api.restapi.dto.MediaSuggestion;
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.repository.MediaRepository;
+import com.bhrugu.api.restapi.service.MediaCatalogCache;
+import com.bhrugu.api.restapi.service.MediaPopularity;
+import com.bhrugu.api.restapi.service.MediaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MediaService read paths: list views, title search, detail lookup, cursor
+ * pages and typeahead
+ *
+ * MediaService, MediaCatalogCache and MediaPopularity are the production
+ * classes, wired by hand over InMemoryMediaRepository; the catalog comes from
+ * SyntheticCatalog, so results are reproducible offline. Every read is served
+ * from the catalog snapshot, which is loaded once during setup.
+ *
+ * Run from backend_new/restapi (JSON results in target/jmh-result.json):
+ *   mvn -P benchmarks verify -Djmh.include=MediaServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private MediaService mediaService;
+    private String[] ids;
+    private String[] queries;
+    private String middleCursor;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Media> catalog = SyntheticCatalog.generate(catalogSize, 42);
+        MediaRepository repository = InMemoryMediaRepository.of(catalog);
+
+        MediaPopularity popularity = new MediaPopularity();
+        ReflectionTestUtils.setField(popularity, "featuredBoost", 1000L);
+        MediaCatalogCache catalogCache = new MediaCatalogCache();
+        ReflectionTestUtils.setField(catalogCache, "mediaRepository", repository);
+        ReflectionTestUtils.setField(catalogCache, "popularity", popularity);
+        mediaService = new MediaService();
+        ReflectionTestUtils.setField(mediaService, "mediaRepository", repository);
+        ReflectionTestUtils.setField(mediaService, "catalogCache", catalogCache);
+        ReflectionTestUtils.setField(mediaService, "popularity", popularity);
+        ReflectionTestUtils.setField(mediaService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(mediaService, "maxPageSize", 100);
+        catalogCache.current();
+
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = SyntheticCatalog.id((int) ((i * 2654435761L) % catalogSize));
+        }
+        queries = new String[] {"knight", "runner " + (catalogSize / 2), "ar", "Stranger Things"};
+        middleCursor = CursorPage.encodeCursor(SyntheticCatalog.id(catalogSize / 2));
+    }
+
+    @Benchmark
+    public List<Media> allMovies() {
+        return mediaService.getAllMovies();
+    }
+
+    @Benchmark
+    public List<Media> featuredMovies() {
+        return mediaService.getFeaturedMovies();
+    }
+
+    @Benchmark
+    public List<Media> searchByTitle() {
+        return mediaService.searchByTitle(queries[next++ & 3]);
+    }
+
+    @Benchmark
+    public Media getById() {
+        return mediaService.getById(ids[next++ & 1023]);
+    }
+
+    @Benchmark
+    public CursorPage<Media> moviesPage() {
+        return mediaService.getMediaPage("movie", middleCursor, 20);
+    }
+
+    @Benchmark
+    public List<MediaSuggestion> suggest() {
+        return mediaService.suggest("st", 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MediaServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic media catalog for benchmarks
+ * Same seed, same catalog: titles are built from a fixed vocabulary, ids are
+ * 24-digit hex like ObjectIds, every other item is a TV show and one in ten
+ * is featured.
+ */
+final class SyntheticCatalog {
+
+    static final String[] WORDS = {
+        "the", "dark", "knight", "return", "star", "wars", "matrix", "office", "breaking",
+        "bad", "game", "thrones", "panther", "avatar", "water", "dune", "encanto", "house",
+        "dragon", "stranger", "things", "witcher", "ozark", "spider", "man", "home", "way",
+        "top", "gun", "maverick", "blade", "runner", "mad", "max", "fury", "road", "night",
+        "city", "lost", "last", "king", "queen", "empire", "rising", "shadow", "legend"
+    };
+
+    private SyntheticCatalog() {}
+
+    static List<Media> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Media> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            }
+            title.append(' ').append(i);
+            MediaType type = i % 2 == 0 ? MediaType.MOVIE : MediaType.TV_SHOW;
+            Media media = new Media(title.toString(), Media.label(type),
+                    "A synopsis long enough to look like the ones in the seeded catalog, number " + i + ".",
+                    "poster_" + i + ".jpg", "poster_" + i + "_large.jpg",
+                    1.99 + random.nextInt(400) / 100.0, 7.99 + random.nextInt(1200) / 100.0, i % 10 == 0);
+            media.setId(id(i));
+            catalog.add(media);
+        }
+        return catalog;
+    }
+
+    static String id(int index) {
+        return String.format("%024x", index);
+    }
+}
@@ -0,0 +1,110 @@
+package com.bhrugu.api.restapi.benchmark;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.service.TitleSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram title index vs. the regex path behind findByTitleContainingIgnoreCase
+ *
+ * The regex benchmark evaluates the same unanchored, case-insensitive pattern
+ * MongoDB builds for the derived query against every title, i.e. the
+ * collection scan without the network round-trip, so it is a lower bound
+ * for the real database path.
+ *
+ * Run from backend_new/restapi:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.bhrugu.api.restapi.benchmark.TitleSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TitleSearchBenchmark {
+
+    private static final String[] WORDS = {
+        "the", "dark", "knight", "return", "star", "wars", "matrix", "office", "breaking",
+        "bad", "game", "thrones", "panther", "avatar", "water", "dune", "encanto", "house",
+        "dragon", "stranger", "things", "witcher", "ozark", "spider", "man", "home", "way",
+        "top", "gun", "maverick", "blade", "runner", "mad", "max", "fury", "road", "night",
+        "city", "lost", "last", "king", "queen", "empire", "rising", "shadow", "legend"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int titleCount;
+
+    @Param({"runner 777", "knight", "ar"})
+    public String query;
+
+    private List<Media> catalog;
+    private TitleSearchIndex index;
+    private Pattern regex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(titleCount);
+        for (int i = 0; i < titleCount; i++) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            }
+            title.append(' ').append(i);
+            Media media = new Media(title.toString(), i % 2 == 0 ? "Movie" : "TV Show",
+                    "", "", "", 3.99, 12.99, false);
+            media.setId(String.format("%024x", i));
+            catalog.add(media);
+        }
+        index = TitleSearchIndex.build(catalog);
+        regex = Pattern.compile(Pattern.quote(query), Pattern.CASE_INSENSITIVE);
+    }
+
+    @Benchmark
+    public List<Media> trigramIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<Media> regexScan() {
+        List<Media> results = new ArrayList<>();
+        for (Media media : catalog) {
+            if (regex.matcher(media.getTitle()).find()) {
+                results.add(media);
+            }
+        }
+        return results;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TitleSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bhrugu.api.restapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Test
+	void prometheusScrapeHasPerEndpointLatencyHistograms() {
+		assertThat(rest.getForEntity("/api/customers/health", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<String> scrape = rest.getForEntity("/actuator/prometheus", String.class);
+
+		assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(scrape.getBody())
+				.contains("http_server_requests_seconds_bucket{")
+				.contains("uri=\"/api/customers/health\"")
+				.contains("application=\"restapi\"");
+	}
+}
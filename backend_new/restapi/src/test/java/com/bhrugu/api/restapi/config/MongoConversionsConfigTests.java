@@ -0,0 +1,109 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MongoConversionsConfigTests {
+
+	private final MappingMongoConverter converter = converter();
+
+	private static MappingMongoConverter converter() {
+		MongoMappingContext context = new MongoMappingContext();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(new MongoConversionsConfig().mongoCustomConversions());
+		context.setSimpleTypeHolder(converter.getCustomConversions().getSimpleTypeHolder());
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	@Test
+	void mediaTypeIsStoredAsItsCodeAndServedAsItsLabel() {
+		Media media = new Media("Dune", "TV Show", "", "", "", 1.99, 9.99, false);
+
+		Document document = new Document();
+		converter.write(media, document);
+		assertThat(document.get("type")).isEqualTo("tv");
+
+		Media read = converter.read(Media.class, document);
+		assertThat(read.getMediaType()).isEqualTo(MediaType.TV_SHOW);
+		assertThat(read.getType()).isEqualTo("TV Show");
+	}
+
+	@Test
+	void queriesOnTypeUseTheCode() {
+		Query query = Query.query(Criteria.where("type").is(MediaType.MOVIE));
+		Document mapped = new QueryMapper(converter).getMappedObject(query.getQueryObject(),
+				converter.getMappingContext().getPersistentEntity(Media.class));
+		assertThat(mapped.get("type")).isEqualTo("movie");
+	}
+
+	@Test
+	void legacySpellingsStillLoad() {
+		for (String legacy : new String[] {"tv-show", "TV Show", "TV_SHOW", "tv"}) {
+			Media read = converter.read(Media.class, new Document("title", "Dune").append("type", legacy));
+			assertThat(read.getMediaType()).as(legacy).isEqualTo(MediaType.TV_SHOW);
+		}
+		assertThat(converter.read(Media.class, new Document("type", "Documentary")).getMediaType()).isNull();
+	}
+
+	@Test
+	void unknownTypesAreRejectedOnInput() {
+		assertThatThrownBy(() -> new Media().setType("Documentary")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(MediaType.parse("movie")).isEqualTo(MediaType.MOVIE);
+		assertThat(MediaType.parse("Movies")).isEqualTo(MediaType.MOVIE);
+	}
+
+	@Test
+	void pricesAreStoredAsCentsAndServedAsAmounts() {
+		Media media = new Media("Dune", "Movie", "", "", "", 4.99, 14.99, false);
+
+		Document document = new Document();
+		converter.write(media, document);
+		assertThat(document.get("rentCents")).isEqualTo(499L);
+		assertThat(document.get("buyCents")).isEqualTo(1499L);
+		assertThat(document).doesNotContainKeys("rent", "buy");
+
+		Media read = converter.read(Media.class, document);
+		assertThat(read.getRent()).isEqualTo(4.99);
+		assertThat(read.getBuyCents()).isEqualTo(1499L);
+	}
+
+	@Test
+	void legacyPricesAreAmountsWhateverTheirNumericType() {
+		Object[] legacy = {15, 15L, 15.0, new Decimal128(new BigDecimal("15.00"))};
+		for (Object amount : legacy) {
+			Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", amount).append("buy", amount));
+			assertThat(read.getRentCents()).as(amount.getClass().getSimpleName()).isEqualTo(1500L);
+			assertThat(read.getBuy()).as(amount.getClass().getSimpleName()).isEqualTo(15.0);
+		}
+		Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", 3.99).append("buy", 12.99));
+		assertThat(read.getRentCents()).isEqualTo(399L);
+		assertThat(read.getBuyCents()).isEqualTo(1299L);
+	}
+
+	@Test
+	void aPriceChangeDropsTheLegacyField() {
+		Media read = converter.read(Media.class, new Document("title", "Dune").append("rent", 3).append("buy", 12));
+		read.setBuy(9.99);
+
+		Document document = new Document();
+		converter.write(read, document);
+		assertThat(document.get("buyCents")).isEqualTo(999L);
+		assertThat(document).doesNotContainKey("buy");
+		// Untouched legacy amounts are written back as amounts
+		assertThat(document.get("rent")).isEqualTo(3.0);
+	}
+}
@@ -0,0 +1,41 @@
+package com.bhrugu.api.restapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogResponseCacheTests {
+
+	@Test
+	void gzipIsAcceptedWhenListedWithAPositiveQuality() {
+		assertThat(CatalogResponseCache.acceptsGzip("gzip")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("GZIP")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0.001")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip(" gzip ; Q=0.5 ")).isTrue();
+	}
+
+	@Test
+	void gzipIsRefusedWhenAbsentOrWeightedZero() {
+		assertThat(CatalogResponseCache.acceptsGzip(null)).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("identity")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("deflate, br")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0.000")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;Q=0")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;q=oops")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("x-gzip")).isFalse();
+	}
+
+	@Test
+	void wildcardCoversGzipUnlessGzipIsListedExplicitly() {
+		assertThat(CatalogResponseCache.acceptsGzip("*")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("br, *;q=0.1")).isTrue();
+		assertThat(CatalogResponseCache.acceptsGzip("*;q=0")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0, *")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("*, gzip;q=0")).isFalse();
+		assertThat(CatalogResponseCache.acceptsGzip("*;q=0, gzip")).isTrue();
+	}
+}
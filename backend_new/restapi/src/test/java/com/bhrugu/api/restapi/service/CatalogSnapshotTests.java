@@ -0,0 +1,124 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTests {
+
+	// Snapshots hold their own copies, so compare items by id
+	private static List<String> ids(List<Media> media) {
+		return media.stream().map(Media::getId).toList();
+	}
+
+	private static Media media(String id, Double buy) {
+		Media media = new Media("Title " + id, "Movie", "", "", "", 1.99, buy, false);
+		media.setId(id);
+		return media;
+	}
+
+	@Test
+	void priceRangeIsInclusiveAndCheapestFirst() {
+		List<Media> media = new ArrayList<>();
+		media.add(media("a", 14.99));
+		media.add(media("b", 4.99));
+		media.add(media("c", null));
+		media.add(media("d", 9.99));
+		media.add(media("e", 4.99));
+		CatalogSnapshot catalog = CatalogSnapshot.of(media, item -> 0L);
+
+		assertThat(catalog.priceRange(499, 999)).extracting(Media::getId).containsExactly("b", "e", "d");
+		assertThat(catalog.priceRange(500, 1498)).extracting(Media::getId).containsExactly("d");
+		assertThat(catalog.priceRange(Long.MIN_VALUE, Long.MAX_VALUE - 1)).hasSize(4);
+		assertThat(catalog.priceRange(1500, 1000)).isEmpty();
+	}
+
+	@Test
+	void untitledMediaCanBeLoadedAndPatched() {
+		Media untitled = media("b", 4.99);
+		untitled.setTitle(null);
+		CatalogSnapshot catalog = CatalogSnapshot.of(List.of(media("a", 9.99), untitled), item -> 0L);
+
+		Media alsoUntitled = media("c", 1.99);
+		alsoUntitled.setTitle(null);
+		catalog = catalog.withMedia(alsoUntitled).withoutMedia("b");
+
+		assertThat(catalog.suggest("", 10)).extracting(TitleTrie.Entry::getId).containsExactly("c", "a");
+		assertThat(catalog.searchByTitle("title")).extracting(Media::getId).containsExactly("a");
+	}
+
+	@Test
+	void patchedSnapshotsMatchAFullRebuild() {
+		String[] titles = {"The Dark", "Dark Water", "Dune", "Up", null, "Matrix", "The Office"};
+		Random random = new Random(11);
+		CatalogSnapshot patched = CatalogSnapshot.of(new ArrayList<>(), item -> item.getTitle() == null ? 0 : item.getTitle().length());
+
+		for (int step = 0; step < 500; step++) {
+			String id = "id" + random.nextInt(40);
+			if (patched.findById(id) != null && random.nextInt(3) == 0) {
+				patched = patched.withoutMedia(id);
+			} else {
+				Media media = new Media(titles[random.nextInt(titles.length)], random.nextBoolean() ? "Movie" : "TV Show",
+						"", "", "", 1.99, random.nextInt(4) == 0 ? null : (double) random.nextInt(5), random.nextBoolean());
+				media.setId(id);
+				patched = patched.withMedia(media);
+			}
+			CatalogSnapshot rebuilt = CatalogSnapshot.of(patched.getAll(), item -> item.getTitle() == null ? 0 : item.getTitle().length());
+
+			assertThat(patched.getFingerprint()).isEqualTo(rebuilt.getFingerprint());
+			for (CatalogSnapshot.View view : CatalogSnapshot.View.values()) {
+				assertThat(ids(patched.getView(view))).isEqualTo(ids(rebuilt.getView(view)));
+				assertThat(patched.getETag(view)).isEqualTo(rebuilt.getETag(view));
+			}
+			assertThat(ids(patched.pageAfter(null, null, 100))).isEqualTo(ids(rebuilt.pageAfter(null, null, 100)));
+			assertThat(ids(patched.pageAfter(MediaType.MOVIE, "id2", 100))).isEqualTo(ids(rebuilt.pageAfter(MediaType.MOVIE, "id2", 100)));
+			assertThat(ids(patched.priceRange(100, 300))).isEqualTo(ids(rebuilt.priceRange(100, 300)));
+			for (String query : new String[] {"dark", "the", "u", "", "matrix o"}) {
+				assertThat(ids(patched.searchByTitle(query))).isEqualTo(ids(rebuilt.searchByTitle(query)));
+			}
+			assertThat(patched.suggest("d", 10)).extracting(TitleTrie.Entry::getId)
+					.isEqualTo(rebuilt.suggest("d", 10).stream().map(TitleTrie.Entry::getId).toList());
+			assertThat(patched.getETag(id)).isEqualTo(rebuilt.getETag(id));
+		}
+	}
+
+	@Test
+	void changesToASavedObjectDoNotReachTheSnapshot() {
+		Media saved = media("a", 9.99);
+		CatalogSnapshot catalog = CatalogSnapshot.of(List.of(media("b", 4.99)), item -> 0L).withMedia(saved);
+		String etag = catalog.getETag("a");
+
+		saved.setTitle("Changed");
+		saved.setBuy(0.99);
+
+		assertThat(catalog.findById("a").getTitle()).isEqualTo("Title a");
+		assertThat(ids(catalog.priceRange(0, 500))).containsExactly("b");
+		assertThat(catalog.getETag("a")).isEqualTo(etag);
+		assertThat(ids(catalog.withoutMedia("a").priceRange(0, 2000))).containsExactly("b");
+	}
+
+	@Test
+	void queryETagsFollowTheItemsTheyDescribe() {
+		CatalogSnapshot catalog = CatalogSnapshot.of(List.of(media("a", 9.99), media("b", 4.99)), item -> 0L);
+		String etag = catalog.getETag(catalog.priceRange(0, 1000), null);
+
+		// Weak: the ApiResponse around the items is not byte-identical between renderings
+		assertThat(etag).startsWith("W/\"");
+		assertThat(catalog.getETag("a")).startsWith("W/\"");
+		assertThat(CatalogSnapshot.of(List.of(media("a", 9.99), media("b", 4.99)), item -> 0L)
+				.getETag(catalog.priceRange(0, 1000), null)).isEqualTo(etag);
+		assertThat(catalog.getETag(catalog.priceRange(0, 1000), "next")).isNotEqualTo(etag);
+		assertThat(catalog.getETag(catalog.priceRange(0, 500), null)).isNotEqualTo(etag);
+
+		Media renamed = media("b", 4.99);
+		renamed.setTitle("Renamed");
+		CatalogSnapshot updated = catalog.withMedia(renamed);
+		assertThat(updated.getETag(updated.priceRange(0, 1000), null)).isNotEqualTo(etag);
+		assertThat(updated.getSuggestionsETag(updated.suggest("", 10))).isNotEqualTo(catalog.getSuggestionsETag(catalog.suggest("", 10)));
+	}
+}
@@ -0,0 +1,128 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.config.MongoConversionsConfig;
+import com.bhrugu.api.restapi.dto.BulkImportResult;
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.repository.MediaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaBulkServiceTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate template;
+	private final MediaBulkService service = new MediaBulkService();
+	private final MediaCatalogCache catalogCache = new MediaCatalogCache();
+	@BeforeEach
+	void startServer() {
+		server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(client, "test");
+		MongoMappingContext context = new MongoMappingContext();
+		MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), context);
+		converter.setCustomConversions(new MongoConversionsConfig().mongoCustomConversions());
+		context.setSimpleTypeHolder(converter.getCustomConversions().getSimpleTypeHolder());
+		converter.afterPropertiesSet();
+		template = new MongoTemplate(factory, converter);
+		ReflectionTestUtils.setField(service, "mongoTemplate", template);
+		ReflectionTestUtils.setField(service, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(service, "batchSize", 2);
+
+		MediaRepository repository = (MediaRepository) Proxy.newProxyInstance(MediaRepository.class.getClassLoader(),
+				new Class<?>[] {MediaRepository.class}, (proxy, method, args) -> template.findAll(Media.class));
+		ReflectionTestUtils.setField(catalogCache, "mediaRepository", repository);
+		ReflectionTestUtils.setField(catalogCache, "popularity", new MediaPopularity());
+		ReflectionTestUtils.setField(service, "catalogCache", catalogCache);
+		catalogCache.current();
+	}
+
+	@AfterEach
+	void stopServer() {
+		client.close();
+		server.shutdownNow();
+	}
+
+	private BulkImportResult importMedia(String body) throws IOException {
+		return service.importMedia(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private List<String> storedTitles() {
+		return template.findAll(Media.class).stream().map(Media::getTitle).sorted().toList();
+	}
+
+	@Test
+	void arraysAndNdjsonAreImportedInBatches() throws IOException {
+		BulkImportResult array = importMedia("[{\"title\": \"A\", \"type\": \"Movie\", \"buy\": 9.99},"
+				+ " {\"title\": \"B\", \"type\": \"TV Show\"}, {\"title\": \"C\", \"type\": \"movie\"}]");
+		BulkImportResult ndjson = importMedia("{\"title\": \"D\", \"type\": \"Movie\"}\n\n{\"title\": \"E\", \"type\": \"tv\"}\n");
+
+		assertThat(array.getInserted()).isEqualTo(3);
+		assertThat(array.getBatches()).isEqualTo(2);
+		assertThat(ndjson.getInserted()).isEqualTo(2);
+		assertThat(storedTitles()).containsExactly("A", "B", "C", "D", "E");
+		assertThat(template.findAll(Media.class)).filteredOn(media -> "A".equals(media.getTitle()))
+				.extracting(Media::getBuyCents).containsExactly(999L);
+	}
+
+	@Test
+	void contentAfterAnArrayIsRejectedInsteadOfDropped() {
+		assertThatThrownBy(() -> importMedia("[{\"title\": \"A\", \"type\": \"Movie\"}]\n{\"title\": \"B\", \"type\": \"Movie\"}\n"))
+				.isInstanceOf(JsonProcessingException.class)
+				.hasMessageContaining("after the JSON array");
+		assertThatThrownBy(() -> importMedia("[{\"title\": \"A\", \"type\": \"Movie\"}] [{\"title\": \"B\", \"type\": \"Movie\"}]"))
+				.isInstanceOf(JsonProcessingException.class);
+		assertThatThrownBy(() -> importMedia("{\"title\": \"A\", \"type\": \"Movie\"}\n[{\"title\": \"B\", \"type\": \"Movie\"}]\n"))
+				.isInstanceOf(JsonProcessingException.class);
+	}
+
+	@Test
+	void aBadLineStopsTheImportAfterTheBatchesAlreadyWritten() {
+		String body = "{\"title\": \"A\", \"type\": \"Movie\"}\n"
+				+ "{\"title\": \"B\", \"type\": \"Movie\"}\n"
+				+ "{\"title\": \"C\", \"type\": \"Movie\"}\n"
+				+ "{\"title\": \"D\", \"type\": \n"
+				+ "{\"title\": \"E\", \"type\": \"Movie\"}\n";
+
+		assertThatThrownBy(() -> importMedia(body)).isInstanceOf(JsonProcessingException.class);
+		assertThat(storedTitles()).containsExactly("A", "B");
+		assertThat(catalogCache.current().getAll()).extracting(Media::getTitle).containsExactly("A", "B");
+		assertThatThrownBy(() -> importMedia("{\"title\": \"F\", \"type\": \"Podcast\"}\n")).isInstanceOf(JsonProcessingException.class);
+		assertThat(storedTitles()).containsExactly("A", "B");
+	}
+
+	@Test
+	void duplicateIdsFailAloneInAnUnorderedBatch() throws IOException {
+		BulkImportResult result = importMedia("{\"id\": \"66a1f0c2e4b0a1b2c3d4e5f6\", \"title\": \"A\", \"type\": \"Movie\"}\n"
+				+ "{\"id\": \"66a1f0c2e4b0a1b2c3d4e5f6\", \"title\": \"A again\", \"type\": \"Movie\"}\n"
+				+ "{\"title\": \"B\", \"type\": \"Movie\"}\n");
+
+		assertThat(result.getReceived()).isEqualTo(3);
+		assertThat(result.getInserted()).isEqualTo(2);
+		assertThat(result.getFailed()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement().asString().startsWith("A again: ");
+		assertThat(storedTitles()).containsExactly("A", "B");
+	}
+}
@@ -0,0 +1,83 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import com.bhrugu.api.restapi.repository.MediaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaCatalogCacheTests {
+
+	private final List<Media> documents = new ArrayList<>();
+	private final AtomicInteger findAllCalls = new AtomicInteger();
+	private Runnable duringFindAll = () -> {};
+	private final MediaCatalogCache cache = new MediaCatalogCache();
+
+	@BeforeEach
+	void setUp() {
+		documents.add(media("a", "Dune"));
+		documents.add(media("b", "Up"));
+		MediaRepository repository = (MediaRepository) Proxy.newProxyInstance(MediaRepository.class.getClassLoader(),
+				new Class<?>[] {MediaRepository.class}, (proxy, method, args) -> {
+					if (!"findAll".equals(method.getName()) || args != null) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					findAllCalls.incrementAndGet();
+					List<Media> result = new ArrayList<>(documents);
+					duringFindAll.run();
+					return result;
+				});
+		ReflectionTestUtils.setField(cache, "mediaRepository", repository);
+		ReflectionTestUtils.setField(cache, "popularity", new MediaPopularity());
+	}
+
+	private static Media media(String id, String title) {
+		Media media = new Media(title, "Movie", "", "", "", 1.99, 9.99, false);
+		media.setId(id);
+		return media;
+	}
+
+	@Test
+	void catalogIsLoadedOnceAndWritesArePatchedIn() {
+		CatalogSnapshot first = cache.current();
+		assertThat(cache.current()).isSameAs(first);
+		assertThat(findAllCalls).hasValue(1);
+
+		cache.put(media("c", "Matrix"));
+		cache.remove("a");
+
+		CatalogSnapshot current = cache.current();
+		assertThat(current.getAll()).extracting(Media::getId).containsExactly("b", "c");
+		assertThat(current.getVersion()).isEqualTo(first.getVersion() + 2);
+		assertThat(findAllCalls).hasValue(1);
+	}
+
+	@Test
+	void reloadKeepsTheVersionWhenNothingChanged() {
+		CatalogSnapshot first = cache.current();
+
+		assertThat(cache.reload()).isTrue();
+		assertThat(cache.current().getVersion()).isEqualTo(first.getVersion());
+		assertThat(cache.current().getLastModified()).isEqualTo(first.getLastModified());
+
+		documents.add(media("c", "Matrix"));
+		assertThat(cache.reload()).isTrue();
+		assertThat(cache.current().getVersion()).isEqualTo(first.getVersion() + 1);
+		assertThat(cache.current().findById("c")).isNotNull();
+	}
+
+	@Test
+	void reloadThatRacedWithAWriteIsDiscarded() {
+		cache.current();
+		duringFindAll = () -> cache.put(media("c", "Matrix"));
+
+		assertThat(cache.reload()).isFalse();
+		assertThat(cache.current().findById("c")).isNotNull();
+	}
+}
@@ -0,0 +1,121 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.controller.UserController;
+import com.bhrugu.api.restapi.dto.ApiResponse;
+import com.bhrugu.api.restapi.dto.UserAuthenticationRequest;
+import com.bhrugu.api.restapi.model.User;
+import com.bhrugu.api.restapi.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private PasswordHashingExecutor hashing;
+
+	@AfterEach
+	void shutDown() {
+		release.countDown();
+		hashing.shutdown();
+	}
+
+	// Occupies every worker and queue slot until the test ends
+	private void saturate(int workers, int queued) {
+		ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hashing, "executor");
+		CountDownLatch started = new CountDownLatch(workers);
+		for (int i = 0; i < workers + queued; i++) {
+			executor.execute(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		try {
+			started.await();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private double rejected() {
+		return registry.get("auth.hashing.rejected").counter().count();
+	}
+
+	@Test
+	void hashesRunOnThePoolWhileItHasRoom() {
+		hashing = new PasswordHashingExecutor(registry, 1, 1, 2000);
+
+		String hash = hashing.encode("secret1");
+
+		assertThat(hashing.matches("secret1", hash)).isTrue();
+		assertThat(hashing.matches("secret2", hash)).isFalse();
+		assertThat(rejected()).isZero();
+	}
+
+	@Test
+	void aFullQueueRejectsWithoutWaiting() {
+		hashing = new PasswordHashingExecutor(registry, 1, 1, 60_000);
+		saturate(1, 1);
+
+		long startedAt = System.nanoTime();
+		assertThatThrownBy(() -> hashing.encode("secret1")).isInstanceOf(PasswordHashingBusyException.class);
+
+		assertThat(System.nanoTime() - startedAt).isLessThan(1_000_000_000L);
+		assertThat(rejected()).isEqualTo(1);
+	}
+
+	@Test
+	void aQueuedHashGivesUpAfterTheMaximumWait() {
+		hashing = new PasswordHashingExecutor(registry, 1, 4, 50);
+		saturate(1, 0);
+
+		assertThatThrownBy(() -> hashing.matches("secret1", "$2a$10$abcdefghijklmnopqrstuv"))
+				.isInstanceOf(PasswordHashingBusyException.class);
+
+		assertThat(rejected()).isEqualTo(1);
+	}
+
+	@Test
+	void loginAnswers503WithRetryAfterWhenTheQueueIsFull() {
+		hashing = new PasswordHashingExecutor(registry, 1, 1, 60_000);
+		User ann = new User("ann", "ann@example.com", new BCryptPasswordEncoder().encode("secret1"), "Ann", "Lee");
+		UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+				new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+					if (!"findByUsernameOrEmail".equals(method.getName())) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					return Optional.of(ann);
+				});
+		UserService userService = new UserService();
+		ReflectionTestUtils.setField(userService, "userRepository", users);
+		ReflectionTestUtils.setField(userService, "passwordHashing", hashing);
+		UserController controller = new UserController();
+		ReflectionTestUtils.setField(controller, "userService", userService);
+		saturate(1, 1);
+
+		ResponseEntity<ApiResponse<User>> response =
+				controller.authenticateUser(new UserAuthenticationRequest("ann", "secret1"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(response.getBody().isSuccess()).isFalse();
+		assertThat(response.getBody().getData()).isNull();
+	}
+}
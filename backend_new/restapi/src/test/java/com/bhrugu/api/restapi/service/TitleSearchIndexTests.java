@@ -0,0 +1,74 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.model.Media;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleSearchIndexTests {
+
+	private static final String[] WORDS = {"the", "dark", "knight", "Office", "up", "ÉCOLE", "a", "matrix", "dune"};
+
+	private static Media media(String id, String title) {
+		Media media = new Media(title, "Movie", "", "", "", 1.99, 9.99, false);
+		media.setId(id);
+		return media;
+	}
+
+	@Test
+	void matchesTheSameTitlesAsAContainsIgnoreCaseScan() {
+		Random random = new Random(3);
+		List<Media> catalog = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			String title = random.nextInt(20) == 0 ? null
+					: WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+			catalog.add(media("id" + i, title));
+		}
+		TitleSearchIndex index = TitleSearchIndex.build(catalog);
+
+		for (String query : new String[] {"dar", "DARK KNI", "k", "up", "école", "e o", "matrix matrix", "zzz", "the dark knight"}) {
+			String needle = query.toLowerCase(Locale.ROOT);
+			List<String> expected = new ArrayList<>();
+			for (Media item : catalog) {
+				if (item.getTitle() != null && item.getTitle().toLowerCase(Locale.ROOT).contains(needle)) {
+					expected.add(item.getId());
+				}
+			}
+			assertThat(index.search(query)).extracting(Media::getId).containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	void exactThenPrefixThenWordPrefixThenSubstring() {
+		TitleSearchIndex index = TitleSearchIndex.build(List.of(
+				media("substring", "Discard"),
+				media("word", "The Card Game"),
+				media("prefix-long", "Cards Against Time"),
+				media("prefix", "Cards"),
+				media("exact", "card")));
+
+		assertThat(index.search("Card")).extracting(Media::getId)
+				.containsExactly("exact", "prefix", "prefix-long", "word", "substring");
+	}
+
+	@Test
+	void patchedIndexesAnswerLikeRebuiltOnes() {
+		List<Media> catalog = new ArrayList<>(List.of(media("1", "Dune"), media("2", "Dark"), media("3", "Dune: Part Two")));
+		TitleSearchIndex index = TitleSearchIndex.build(catalog)
+				.replace(0, media("1", "Darkest Hour"))
+				.remove(1)
+				.append(media("4", "Dunkirk"));
+		TitleSearchIndex rebuilt = TitleSearchIndex.build(List.of(
+				media("1", "Darkest Hour"), media("3", "Dune: Part Two"), media("4", "Dunkirk")));
+
+		for (String query : new String[] {"dar", "dun", "du", "hour", "part", "dune"}) {
+			assertThat(index.search(query)).extracting(Media::getId)
+					.isEqualTo(rebuilt.search(query).stream().map(Media::getId).toList());
+		}
+		assertThat(index.size()).isEqualTo(3);
+	}
+}
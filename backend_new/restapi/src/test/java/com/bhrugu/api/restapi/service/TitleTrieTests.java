@@ -0,0 +1,86 @@
+package com.bhrugu.api.restapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleTrieTests {
+
+	private static final String[] WORDS = {"the", "then", "dark", "darkest", "dune", "d", "matrix", "mat", "office"};
+
+	@Test
+	void suggestionsMatchBruteForceAcrossInsertsAndRemovals() {
+		Random random = new Random(7);
+		TitleTrie trie = TitleTrie.empty(5);
+		Map<String, TitleTrie.Entry> live = new HashMap<>();
+
+		for (int step = 0; step < 2000; step++) {
+			String id = "id" + random.nextInt(300);
+			TitleTrie.Entry previous = live.get(id);
+			if (previous != null && random.nextBoolean()) {
+				trie = trie.remove(previous.getTitle(), id);
+				live.remove(id);
+			} else {
+				if (previous != null) {
+					trie = trie.remove(previous.getTitle(), id);
+				}
+				String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+				TitleTrie.Entry entry = new TitleTrie.Entry(id, title, "Movie", random.nextInt(50));
+				trie = trie.insert(entry);
+				live.put(id, entry);
+			}
+
+			for (String prefix : new String[] {"", "d", "da", "dark", "darkest d", "the", "then m", "x"}) {
+				assertThat(ids(trie.suggest(prefix, 5))).isEqualTo(ids(bruteForce(live, prefix, 5)));
+			}
+		}
+	}
+
+	@Test
+	void olderVersionsAreUnaffectedByLaterWrites() {
+		TitleTrie before = TitleTrie.empty(3).insert(new TitleTrie.Entry("1", "Dune", "Movie", 1));
+		TitleTrie after = before.insert(new TitleTrie.Entry("2", "Dune: Part Two", "Movie", 5)).remove("Dune", "1");
+
+		assertThat(ids(before.suggest("du", 3))).containsExactly("1");
+		assertThat(ids(after.suggest("DU", 3))).containsExactly("2");
+	}
+
+	@Test
+	void untitledEntriesRankBeforeTitledOnesWithTheSameScore() {
+		TitleTrie trie = TitleTrie.empty(3)
+				.insert(new TitleTrie.Entry("1", "Dune", "Movie", 2))
+				.insert(new TitleTrie.Entry("2", null, "Movie", 2))
+				.insert(new TitleTrie.Entry("3", null, "Movie", 1));
+
+		assertThat(ids(trie.suggest("", 3))).containsExactly("2", "1", "3");
+		assertThat(ids(trie.suggest("d", 3))).containsExactly("1");
+		assertThat(ids(trie.remove(null, "2").suggest("", 3))).containsExactly("1", "3");
+	}
+
+	private static List<TitleTrie.Entry> bruteForce(Map<String, TitleTrie.Entry> live, String prefix, int limit) {
+		return live.values().stream()
+				.filter(entry -> entry.getTitle().toLowerCase(Locale.ROOT).startsWith(prefix))
+				.sorted(Comparator.comparingLong(TitleTrie.Entry::getScore).reversed()
+						.thenComparing(TitleTrie.Entry::getTitle, String.CASE_INSENSITIVE_ORDER)
+						.thenComparing(TitleTrie.Entry::getId))
+				.limit(limit)
+				.collect(Collectors.toList());
+	}
+
+	private static List<String> ids(List<TitleTrie.Entry> entries) {
+		List<String> ids = new ArrayList<>();
+		for (TitleTrie.Entry entry : entries) {
+			ids.add(entry.getId());
+		}
+		return ids;
+	}
+}
@@ -6,6 +6,7 @@ echo "📁 Current directory: $(pwd)"
 echo "📋 Making mvnw executable..."
 chmod +x mvnw
 echo "🏗️  Running Maven build..."
+./mvnw -q -f ../common/pom.xml install -DskipTests
 ./mvnw clean package -DskipTests -q
 echo "✅ Build completed successfully!"
 echo "📦 JAR files created:"
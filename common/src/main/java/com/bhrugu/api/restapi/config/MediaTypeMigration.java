@@ -0,0 +1,64 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.MediaCollection;
+import com.bhrugu.api.restapi.model.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites media-catalog type strings to MediaType codes
+ * Finds the distinct stored type values and issues one updateMany per legacy
+ * spelling ("Movie", "TV Show", "tv-show", ...) in a single unordered bulk
+ * write, so the cost is one round-trip regardless of catalog size.
+ *
+ * Idempotent: once every document carries a code there is nothing to do.
+ * Values that are not a known spelling are left untouched and logged.
+ * Runs from CatalogSeeder before seeding.
+ */
+@Component
+public class MediaTypeMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaTypeMigration.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Migrate all legacy type strings
+     * @return Number of documents rewritten
+     */
+    public long migrate() {
+        String collection = MediaCollection.NAME;
+        List<String> stored = mongoTemplate.getCollection(collection)
+                .distinct("type", String.class)
+                .into(new ArrayList<>());
+
+        // Raw collection rather than a Media mapping: values must go out as raw strings, not through MediaType conversion
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        int rewrites = 0;
+        for (String value : stored) {
+            MediaType type = MediaType.parse(value);
+            if (type == null) {
+                log.warn("media-catalog documents with unknown type '{}' were left as is", value);
+            } else if (!type.getCode().equals(value)) {
+                operations.updateMulti(Query.query(Criteria.where("type").is(value)), Update.update("type", type.getCode()));
+                rewrites++;
+            }
+        }
+        if (rewrites == 0) {
+            return 0;
+        }
+        long modified = operations.execute().getModifiedCount();
+        log.info("Migrated {} media-catalog documents to canonical type codes", modified);
+        return modified;
+    }
+}
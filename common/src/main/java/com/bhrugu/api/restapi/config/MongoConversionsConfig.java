@@ -0,0 +1,42 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.MediaType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import java.util.List;
+
+/**
+ * Custom MongoDB conversions
+ * MediaType is written as its canonical code instead of the enum name, both
+ * in documents and in query values, and read back from any known spelling
+ * so documents written before MediaTypeMigration ran still load.
+ */
+@Configuration
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new MediaTypeWriter(), new MediaTypeReader()));
+    }
+
+    @WritingConverter
+    static class MediaTypeWriter implements Converter<MediaType, String> {
+        @Override
+        public String convert(MediaType source) {
+            return source.getCode();
+        }
+    }
+
+    // Unknown strings read as null rather than failing the whole query; MediaTypeMigration reports them
+    @ReadingConverter
+    static class MediaTypeReader implements Converter<String, MediaType> {
+        @Override
+        public MediaType convert(String source) {
+            return MediaType.parse(source);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bhrugu.api.restapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds on the Mongo connection pool
+ * A request waits at most mongo.pool.max-wait-ms for one of the
+ * mongo.pool.max-size connections and then fails fast, rather than queueing
+ * behind the pool without bound when traffic outgrows it.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Value("${mongo.pool.max-size:100}")
+    private int maxPoolSize;
+
+    @Value("${mongo.pool.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
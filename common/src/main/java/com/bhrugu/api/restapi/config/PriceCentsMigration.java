@@ -0,0 +1,110 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.Cents;
+import com.bhrugu.api.restapi.model.MediaCollection;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves legacy media prices into whole-cent fields
+ * Before the switch to cents, rent and buy held decimal amounts: doubles when
+ * written by the application, but int32/int64 when a whole amount came in
+ * through mongosh or mongoimport (buy: 15). Every numeric rent/buy is
+ * therefore an amount whatever its BSON type. Cents go to their own fields
+ * (rentCents, buyCents) so the unit never depends on the numeric type.
+ *
+ * Like MediaTypeMigration, this reads the distinct legacy values and issues
+ * one updateMulti per value in a single unordered bulk write, converting with
+ * Cents.LegacyAmountConverter so stored cents round exactly as reads do.
+ * The legacy field is removed in the same update; a document that already
+ * has the cents field keeps it. Idempotent: migrated documents have no legacy
+ * field left. Non-numeric values are left untouched and logged.
+ *
+ * Until it has run, Media reads the legacy fields through the same converter;
+ * the migration makes stored values consistent for price queries.
+ * Runs from CatalogSeeder before seeding.
+ */
+@Component
+public class PriceCentsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceCentsMigration.class);
+
+    // Legacy amount field -> cents field
+    private static final Map<String, String> PRICE_FIELDS = Map.of("rent", "rentCents", "buy", "buyCents");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Migrate all legacy prices
+     * @return Number of documents updated
+     */
+    public long migrate() {
+        String collection = MediaCollection.NAME;
+        Cents.LegacyAmountConverter converter = new Cents.LegacyAmountConverter();
+
+        // Raw collection rather than a Media mapping: filters must match the raw legacy values
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        int rewrites = 0;
+        for (Map.Entry<String, String> field : PRICE_FIELDS.entrySet()) {
+            String legacyField = field.getKey();
+            String centsField = field.getValue();
+            List<BsonValue> stored = mongoTemplate.getCollection(collection)
+                    .distinct(legacyField, BsonValue.class)
+                    .into(new ArrayList<>());
+            for (BsonValue value : stored) {
+                Object amount = amount(value);
+                Long cents = amount == null ? null : converter.read(amount, null);
+                if (cents == null) {
+                    log.warn("media-catalog documents with non-numeric {} '{}' were left as is", legacyField, value);
+                    continue;
+                }
+                // Numeric equality matches 15, 15L and 15.0 alike, which are the same amount
+                operations.updateMulti(
+                        Query.query(Criteria.where(legacyField).is(amount).and(centsField).exists(false)),
+                        new Update().set(centsField, cents).unset(legacyField));
+                rewrites++;
+            }
+            if (!stored.isEmpty()) {
+                operations.updateMulti(
+                        Query.query(Criteria.where(legacyField).exists(true).and(centsField).exists(true)),
+                        new Update().unset(legacyField));
+                rewrites++;
+            }
+        }
+        if (rewrites == 0) {
+            return 0;
+        }
+        long modified = operations.execute().getModifiedCount();
+        if (modified > 0) {
+            log.info("Migrated {} media-catalog prices to cents", modified);
+        }
+        return modified;
+    }
+
+    private static Object amount(BsonValue value) {
+        switch (value.getBsonType()) {
+            case INT32:
+                return value.asInt32().getValue();
+            case INT64:
+                return value.asInt64().getValue();
+            case DOUBLE:
+                return value.asDouble().getValue();
+            case DECIMAL128:
+                return value.asDecimal128().getValue();
+            default:
+                return null;
+        }
+    }
+}
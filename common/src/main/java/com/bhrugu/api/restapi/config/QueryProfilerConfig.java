@@ -0,0 +1,63 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.service.QueryShapeProfiler;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Wires QueryShapeProfiler into the Mongo driver and the repositories
+ * The profiler listens to every command on the application's MongoClient
+ * (mongo.profiler.enabled=false leaves it detached), and every repository
+ * proxy records which of its methods is running so commands can be traced
+ * back to e.g. MediaRepository.findByTitleContainingIgnoreCase.
+ */
+@Configuration
+public class QueryProfilerConfig {
+
+    @Autowired
+    private QueryShapeProfiler queryShapeProfiler;
+
+    @Value("${mongo.profiler.enabled:true}")
+    private boolean enabled;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryProfilerCustomizer() {
+        return settings -> {
+            if (enabled) {
+                settings.addCommandListener(queryShapeProfiler);
+            }
+        };
+    }
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor repositoryMethodTracker() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                                String name = repositoryInformation.getRepositoryInterface().getSimpleName();
+                                proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                                    String previous = QueryShapeProfiler.enterRepositoryMethod(
+                                            name + "." + invocation.getMethod().getName());
+                                    try {
+                                        return invocation.proceed();
+                                    } finally {
+                                        QueryShapeProfiler.exitRepositoryMethod(previous);
+                                    }
+                                });
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+}
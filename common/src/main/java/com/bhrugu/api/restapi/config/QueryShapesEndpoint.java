@@ -0,0 +1,46 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.dto.QueryShapeStats;
+import com.bhrugu.api.restapi.service.QueryShapeProfiler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Actuator endpoint "queries": the worst MongoDB query shapes
+ * GET /actuator/queries?sort=total|p99|slow|scan&limit=20 returns latency
+ * percentiles, slow call counts and docs examined per returned (from a
+ * sampled explain) for each query shape seen since startup.
+ *
+ * Shapes and repository method names describe the schema and its weak
+ * spots, so like every actuator endpoint this one is only reachable over
+ * HTTP once listed in management.endpoints.web.exposure.include, which
+ * the default configuration does not do.
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueryShapesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Autowired
+    private QueryShapeProfiler queryShapeProfiler;
+
+    /**
+     * @param sort total (time across all calls, the default), p99, slow or scan
+     * @param limit Maximum number of shapes, 20 by default
+     * @return The shapes, worst first; 400 for an unknown sort
+     */
+    @ReadOperation
+    public List<QueryShapeStats> queries(@Nullable String sort, @Nullable Integer limit) {
+        try {
+            return queryShapeProfiler.top(sort != null ? sort : "total", limit != null ? limit : DEFAULT_LIMIT);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bhrugu.api.restapi.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples debug logging from chatty loggers (logback-spring.xml)
+ * With DEBUG enabled on e.g. org.springframework.data.mongodb every query is
+ * logged; this lets through one debug event in oneIn from the configured
+ * logger prefixes and drops the rest before the message is formatted.
+ * INFO and above always pass; isDebugEnabled() checks and events the logger
+ * would drop anyway are not counted.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private final List<String> prefixes = new ArrayList<>();
+    private final AtomicLong events = new AtomicLong();
+    private long oneIn = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.levelInt > Level.DEBUG_INT
+                || level.levelInt < logger.getEffectiveLevel().levelInt || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return events.getAndIncrement() % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Logger name prefixes to sample, comma separated */
+    public void setLoggers(String loggers) {
+        for (String prefix : loggers.split(",")) {
+            if (!prefix.isBlank()) {
+                prefixes.add(prefix.trim());
+            }
+        }
+    }
+
+    /** Keep one debug event in this many; 1 keeps them all */
+    public void setOneIn(long oneIn) {
+        this.oneIn = Math.max(oneIn, 1);
+    }
+}
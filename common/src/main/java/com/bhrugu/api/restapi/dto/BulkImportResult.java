@@ -0,0 +1,96 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a bulk media import
+ * Writes are unordered, so one bad document does not stop the rest of its batch;
+ * only the first few error messages are kept to bound the response size
+ */
+public class BulkImportResult {
+    
+    private static final int MAX_REPORTED_ERRORS = 20;
+    
+    @JsonProperty("received")
+    private int received;
+    
+    @JsonProperty("inserted")
+    private int inserted;
+    
+    @JsonProperty("failed")
+    private int failed;
+    
+    @JsonProperty("batches")
+    private int batches;
+    
+    @JsonProperty("errors")
+    private List<String> errors = new ArrayList<>();
+    
+    // Default constructor
+    public BulkImportResult() {}
+    
+    /**
+     * Record the outcome of one bulk write
+     * @param size Number of documents sent in the batch
+     * @param insertedCount Number of documents the server inserted
+     */
+    public void addBatch(int size, int insertedCount) {
+        batches++;
+        received += size;
+        inserted += insertedCount;
+        failed += size - insertedCount;
+    }
+    
+    /**
+     * Keep an error message for the response, up to MAX_REPORTED_ERRORS
+     * @param message Description of the failed write
+     */
+    public void addError(String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(message);
+        }
+    }
+    
+    // Getters and setters
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getInserted() {
+        return inserted;
+    }
+    
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public int getBatches() {
+        return batches;
+    }
+    
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,99 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * The nextCursor is an opaque continuation token: clients pass it back
+ * unchanged as ?cursor= to fetch the following page
+ */
+public class CursorPage<T> {
+
+    private static final String CURSOR_PREFIX = "v1:";
+
+    @JsonProperty("items")
+    private List<T> items;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+
+    // Default constructor
+    public CursorPage() {}
+
+    // Constructor with all fields
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.size = items.size();
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Encode the last key of a page as an opaque continuation token
+     * @param lastId The _id of the last item on the page
+     * @return URL-safe token
+     */
+    public static String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token produced by encodeCursor
+     * @param cursor The token from the request, may be null or empty for the first page
+     * @return The _id to continue after, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(CURSOR_PREFIX) || decoded.length() == CURSOR_PREFIX.length()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded.substring(CURSOR_PREFIX.length());
+    }
+
+    // Getters and setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bhrugu.api.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one MongoDB query shape, as reported by GET /actuator/queries
+ * Counts and total time cover the whole uptime; percentiles and max cover
+ * the last few minutes. The explain fields come from one explain(executionStats)
+ * of a sample query and are absent until that has run.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QueryShapeStats {
+
+    @JsonProperty("shape")
+    private String shape;
+
+    @JsonProperty("command")
+    private String command;
+
+    @JsonProperty("collection")
+    private String collection;
+
+    /** Repository methods seen issuing this shape, e.g. UserRepository.findByUsernameOrEmail */
+    @JsonProperty("sources")
+    private List<String> sources;
+
+    @JsonProperty("calls")
+    private long calls;
+
+    @JsonProperty("failures")
+    private long failures;
+
+    @JsonProperty("slowCalls")
+    private long slowCalls;
+
+    @JsonProperty("totalMs")
+    private double totalMs;
+
+    @JsonProperty("meanMs")
+    private double meanMs;
+
+    @JsonProperty("p50Ms")
+    private double p50Ms;
+
+    @JsonProperty("p99Ms")
+    private double p99Ms;
+
+    @JsonProperty("p999Ms")
+    private double p999Ms;
+
+    @JsonProperty("maxMs")
+    private double maxMs;
+
+    /** Documents returned per call, first batch and getMore batches together */
+    @JsonProperty("docsReturnedPerCall")
+    private double docsReturnedPerCall;
+
+    /** Winning plan stages, e.g. [FETCH, IXSCAN] or [COLLSCAN] */
+    @JsonProperty("planStages")
+    private List<String> planStages;
+
+    @JsonProperty("docsExamined")
+    private Long docsExamined;
+
+    @JsonProperty("keysExamined")
+    private Long keysExamined;
+
+    @JsonProperty("explainReturned")
+    private Long explainReturned;
+
+    /** docsExamined / max(explainReturned, 1): 1 is ideal, the collection size means a scan */
+    @JsonProperty("docsExaminedPerReturned")
+    private Double docsExaminedPerReturned;
+
+    @JsonProperty("explainedAt")
+    private Instant explainedAt;
+
+    @JsonProperty("explainError")
+    private String explainError;
+
+    // Default constructor
+    public QueryShapeStats() {}
+
+    // Getters and setters
+    public String getShape() { return shape; }
+    public void setShape(String shape) { this.shape = shape; }
+
+    public String getCommand() { return command; }
+    public void setCommand(String command) { this.command = command; }
+
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+
+    public List<String> getSources() { return sources; }
+    public void setSources(List<String> sources) { this.sources = sources; }
+
+    public long getCalls() { return calls; }
+    public void setCalls(long calls) { this.calls = calls; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public long getSlowCalls() { return slowCalls; }
+    public void setSlowCalls(long slowCalls) { this.slowCalls = slowCalls; }
+
+    public double getTotalMs() { return totalMs; }
+    public void setTotalMs(double totalMs) { this.totalMs = totalMs; }
+
+    public double getMeanMs() { return meanMs; }
+    public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+
+    public double getP50Ms() { return p50Ms; }
+    public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+
+    public double getP99Ms() { return p99Ms; }
+    public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+
+    public double getP999Ms() { return p999Ms; }
+    public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+    public double getDocsReturnedPerCall() { return docsReturnedPerCall; }
+    public void setDocsReturnedPerCall(double docsReturnedPerCall) { this.docsReturnedPerCall = docsReturnedPerCall; }
+
+    public List<String> getPlanStages() { return planStages; }
+    public void setPlanStages(List<String> planStages) { this.planStages = planStages; }
+
+    public Long getDocsExamined() { return docsExamined; }
+    public void setDocsExamined(Long docsExamined) { this.docsExamined = docsExamined; }
+
+    public Long getKeysExamined() { return keysExamined; }
+    public void setKeysExamined(Long keysExamined) { this.keysExamined = keysExamined; }
+
+    public Long getExplainReturned() { return explainReturned; }
+    public void setExplainReturned(Long explainReturned) { this.explainReturned = explainReturned; }
+
+    public Double getDocsExaminedPerReturned() { return docsExaminedPerReturned; }
+    public void setDocsExaminedPerReturned(Double docsExaminedPerReturned) { this.docsExaminedPerReturned = docsExaminedPerReturned; }
+
+    public Instant getExplainedAt() { return explainedAt; }
+    public void setExplainedAt(Instant explainedAt) { this.explainedAt = explainedAt; }
+
+    public String getExplainError() { return explainError; }
+    public void setExplainError(String explainError) { this.explainError = explainError; }
+}
@@ -0,0 +1,70 @@
+package com.bhrugu.api.restapi.model;
+
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Prices as whole cents
+ * Media prices are held and stored as long cents so comparisons and range
+ * lookups are exact integer operations. The API still exchanges decimal
+ * amounts (4.99); conversion happens only at that boundary.
+ */
+public final class Cents {
+
+    private Cents() {}
+
+    /**
+     * @param amount Decimal amount, e.g. 4.99
+     * @return Amount in cents rounded half-up, or null for null
+     */
+    public static Long fromAmount(Double amount) {
+        return amount == null ? null : fromAmount(amount, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * @param amount Decimal amount
+     * @param rounding How to round sub-cent amounts (e.g. CEILING for a lower bound)
+     * @return Amount in cents
+     */
+    public static long fromAmount(double amount, RoundingMode rounding) {
+        // valueOf goes through Double.toString, so 4.99 is exactly 499 cents rather than 499.00000000000006
+        return BigDecimal.valueOf(amount).movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    /**
+     * @param cents Amount in cents
+     * @return Decimal amount, or null for null
+     */
+    public static Double toAmount(Long cents) {
+        return cents == null ? null : cents / 100.0;
+    }
+
+    /**
+     * Reads legacy price fields (rent, buy), which always hold decimal
+     * amounts whatever their BSON type: 15 stored as an int32 by mongosh or
+     * mongoimport is 15.00, not 15 cents. Cents live in their own fields
+     * (rentCents, buyCents), so the unit never depends on the numeric type.
+     * Writes cents back as the decimal amount they stand for.
+     */
+    public static class LegacyAmountConverter implements MongoValueConverter<Long, Object> {
+
+        @Override
+        public Long read(Object value, MongoConversionContext context) {
+            if (value instanceof Decimal128 amount) {
+                return amount.bigDecimalValue().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            }
+            if (value instanceof Integer || value instanceof Long) {
+                return Math.multiplyExact(((Number) value).longValue(), 100L);
+            }
+            return value instanceof Number amount ? fromAmount(amount.doubleValue(), RoundingMode.HALF_UP) : null;
+        }
+
+        @Override
+        public Object write(Long value, MongoConversionContext context) {
+            return toAmount(value);
+        }
+    }
+}
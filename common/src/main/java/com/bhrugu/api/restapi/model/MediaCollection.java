@@ -0,0 +1,13 @@
+package com.bhrugu.api.restapi.model;
+
+/**
+ * The MongoDB collection holding the media catalog
+ * Both services map their own Media class onto it; the shared migrations
+ * work on it directly, below either mapping.
+ */
+public final class MediaCollection {
+
+    public static final String NAME = "media-catalog";
+
+    private MediaCollection() {}
+}
@@ -0,0 +1,72 @@
+package com.bhrugu.api.restapi.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Kind of media in the catalog
+ * Stored in MongoDB as a short canonical code ("movie", "tv") through
+ * MongoConversionsConfig, so the type field has exactly two values and
+ * queries on it are exact matches against an index.
+ *
+ * API responses keep each service's own spelling (Media.label: "movie" /
+ * "tv-show" in backend, "Movie" / "TV Show" in backend_new); parse() accepts
+ * both and any casing, which is what MediaTypeMigration relies on to rewrite
+ * legacy documents.
+ *
+ * Not to be confused with Spring's org.springframework.http.MediaType.
+ */
+public enum MediaType {
+
+    MOVIE("movie"),
+    TV_SHOW("tv");
+
+    private static final Map<String, MediaType> ALIASES = new HashMap<>();
+
+    static {
+        for (MediaType type : values()) {
+            ALIASES.put(normalize(type.code), type);
+            ALIASES.put(normalize(type.name()), type);
+        }
+        // Spellings used by the two backends and the seed scripts
+        ALIASES.put("tvshow", TV_SHOW);
+        ALIASES.put("movies", MOVIE);
+        ALIASES.put("film", MOVIE);
+        ALIASES.put("tvshows", TV_SHOW);
+        ALIASES.put("series", TV_SHOW);
+    }
+
+    private final String code;
+
+    MediaType(String code) {
+        this.code = code;
+    }
+
+    /**
+     * @return The canonical code stored in MongoDB
+     */
+    public String getCode() { return code; }
+
+    /**
+     * Resolve any known spelling of a media type
+     * Case, spaces, dashes and underscores are ignored, so "TV Show",
+     * "tv-show", "TV_SHOW" and "tv" all resolve to TV_SHOW.
+     * @param value A code, label or legacy type string
+     * @return The media type, or null if value is null or not recognized
+     */
+    public static MediaType parse(String value) {
+        return value == null ? null : ALIASES.get(normalize(value));
+    }
+
+    private static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
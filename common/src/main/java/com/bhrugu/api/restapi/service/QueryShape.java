@@ -0,0 +1,149 @@
+package com.bhrugu.api.restapi.service;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonValue;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query shape fingerprints for MongoDB commands
+ * A shape is the command, the collection and the structure of its filter with
+ * every value replaced by ?, so findByUsernameOrEmail("ann", "ann@x.io") and
+ * findByUsernameOrEmail("bob", "bob@y.io") share the shape
+ *   find users {$or: [{username: ?}, {email: ?}]}
+ * Regular expressions keep their options (/?/i), $in lists collapse to [?],
+ * sort specifications keep their directions and projections their fields,
+ * since each of those changes how the query is planned.
+ */
+public final class QueryShape {
+
+    /** Commands that carry a query shape; getMore is attributed to the command that opened the cursor */
+    public static final Set<String> COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify", "insert");
+
+    private QueryShape() {}
+
+    /**
+     * @param commandName The command name, e.g. find
+     * @param command The command document as sent to the server
+     * @return The command's shape, or null if the command has none
+     */
+    public static String of(String commandName, BsonDocument command) {
+        if (!COMMANDS.contains(commandName)) {
+            return null;
+        }
+        StringBuilder shape = new StringBuilder(commandName).append(' ').append(collection(commandName, command));
+        switch (commandName) {
+            case "find":
+                appendShape(shape.append(' '), command.get("filter", new BsonDocument()));
+                appendLiteral(shape, " sort ", command.get("sort"));
+                appendLiteral(shape, " projection ", command.get("projection"));
+                break;
+            case "aggregate":
+                appendShape(shape.append(' '), command.get("pipeline", new BsonArray()));
+                break;
+            case "count":
+                appendShape(shape.append(' '), command.get("query", new BsonDocument()));
+                break;
+            case "distinct":
+                BsonValue key = command.get("key");
+                shape.append(' ').append(key != null && key.isString() ? key.asString().getValue() : "?");
+                appendShape(shape.append(' '), command.get("query", new BsonDocument()));
+                break;
+            case "update":
+                BsonDocument update = first(command, "updates");
+                appendShape(shape.append(' '), update.get("q", new BsonDocument()));
+                appendShape(shape.append(' '), update.get("u", new BsonDocument()));
+                break;
+            case "delete":
+                appendShape(shape.append(' '), first(command, "deletes").get("q", new BsonDocument()));
+                break;
+            case "findAndModify":
+                appendShape(shape.append(' '), command.get("query", new BsonDocument()));
+                if (command.containsKey("update")) {
+                    appendShape(shape.append(' '), command.get("update"));
+                }
+                if (command.getBoolean("remove", BsonBoolean.FALSE).getValue()) {
+                    shape.append(" remove");
+                }
+                break;
+            default:
+                // insert: no filter, the collection is the shape
+                break;
+        }
+        return shape.toString();
+    }
+
+    /**
+     * @return The collection the command targets, or - for collection-less aggregates
+     */
+    public static String collection(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : "-";
+    }
+
+    // Bulk writes: the first statement stands for the batch
+    private static BsonDocument first(BsonDocument command, String key) {
+        BsonValue statements = command.get(key);
+        if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                && statements.asArray().get(0).isDocument()) {
+            return statements.asArray().get(0).asDocument();
+        }
+        return new BsonDocument();
+    }
+
+    private static void appendShape(StringBuilder shape, BsonValue value) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean firstField = true;
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                if (!firstField) {
+                    shape.append(", ");
+                }
+                firstField = false;
+                appendShape(shape.append(field.getKey()).append(": "), field.getValue());
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // $or / $and branches and pipeline stages keep their structure; value lists do not
+            if (!array.isEmpty() && array.stream().allMatch(BsonValue::isDocument)) {
+                shape.append('[');
+                for (int i = 0; i < array.size(); i++) {
+                    if (i > 0) {
+                        shape.append(", ");
+                    }
+                    appendShape(shape, array.get(i));
+                }
+                shape.append(']');
+            } else {
+                shape.append("[?]");
+            }
+        } else if (value.isRegularExpression()) {
+            BsonRegularExpression regex = value.asRegularExpression();
+            shape.append("/?/").append(regex.getOptions());
+        } else {
+            shape.append('?');
+        }
+    }
+
+    private static void appendLiteral(StringBuilder shape, String label, BsonValue value) {
+        if (value == null || !value.isDocument() || value.asDocument().isEmpty()) {
+            return;
+        }
+        shape.append(label).append('{');
+        boolean firstField = true;
+        for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+            if (!firstField) {
+                shape.append(", ");
+            }
+            firstField = false;
+            BsonValue direction = field.getValue();
+            shape.append(field.getKey()).append(": ").append(direction.isNumber() ? direction.asNumber().intValue() : "?");
+        }
+        shape.append('}');
+    }
+}
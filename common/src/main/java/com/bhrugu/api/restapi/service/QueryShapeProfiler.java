@@ -0,0 +1,454 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.QueryShapeStats;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Slow-query detector and query-shape profiler for MongoDB commands
+ * Registered as a driver CommandListener (QueryProfilerConfig), so it sees
+ * every command the application sends, whether it comes from a derived
+ * repository method such as findByTypeAndFeatured, an @Query method or
+ * MongoTemplate. Each command is reduced to its QueryShape and timed per shape
+ * (the mongodb.query.shape timer, with p50/p99/p99.9). Commands slower than
+ * mongo.profiler.slow-query-ms are counted and logged as a warning, at most
+ * once a minute per shape and without the query's values.
+ *
+ * Command responses say how many documents were returned but not how many
+ * were examined, so the first time a shape is seen one sample of it is run
+ * through explain(executionStats) in the background, and again when the shape
+ * turns slow and its last explain is older than explain-interval-ms. That gives
+ * docs examined per returned and the winning plan (e.g. COLLSCAN) per shape.
+ *
+ * The repository method behind a command is taken from a thread-local set by
+ * the repository proxy interceptor, so it is known for blocking calls only.
+ */
+@Component
+public class QueryShapeProfiler implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryShapeProfiler.class);
+
+    /** Shape that absorbs every command once max-shapes distinct shapes have been seen */
+    static final String OTHER = "(other)";
+
+    private static final int MAX_SOURCES = 10;
+    private static final int MAX_OPEN_CURSORS = 10_000;
+    private static final long SLOW_LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ThreadLocal<String> repositoryMethod = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Lazily resolved: the template's MongoClient is built with this listener
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Value("${mongo.profiler.slow-query-ms:100}")
+    private long slowQueryMs;
+
+    @Value("${mongo.profiler.max-shapes:500}")
+    private int maxShapes;
+
+    @Value("${mongo.profiler.explain:true}")
+    private boolean explain;
+
+    @Value("${mongo.profiler.explain-interval-ms:600000}")
+    private long explainIntervalMs;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<Integer, ShapeStats> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, ShapeStats> openCursors = new ConcurrentHashMap<>();
+
+    // One explain at a time, off the request path; a full queue drops the request
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, "query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * Attribute the commands sent on this thread to a repository method
+     * @param method e.g. UserRepository.findByUsernameOrEmail
+     * @return The enclosing method, to pass back to exitRepositoryMethod
+     */
+    public static String enterRepositoryMethod(String method) {
+        String previous = repositoryMethod.get();
+        repositoryMethod.set(method);
+        return previous;
+    }
+
+    public static void exitRepositoryMethod(String previous) {
+        if (previous == null) {
+            repositoryMethod.remove();
+        } else {
+            repositoryMethod.set(previous);
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+        if ("getMore".equals(commandName)) {
+            // Re-registered from the response if the cursor stays open
+            ShapeStats stats = openCursors.remove(cursorId(command.get("getMore")));
+            if (stats != null) {
+                inFlight.put(event.getRequestId(), stats);
+            }
+            return;
+        }
+        if ("killCursors".equals(commandName)) {
+            BsonValue cursors = command.get("cursors");
+            if (cursors != null && cursors.isArray()) {
+                cursors.asArray().forEach(id -> openCursors.remove(cursorId(id)));
+            }
+            return;
+        }
+        String shape = QueryShape.of(commandName, command);
+        if (shape == null) {
+            return;
+        }
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            stats = register(shape, commandName, command, event.getDatabaseName());
+        }
+        String source = repositoryMethod.get();
+        if (source != null && stats.sources.size() < MAX_SOURCES) {
+            stats.sources.add(source);
+        }
+        inFlight.put(event.getRequestId(), stats);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        ShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        String commandName = event.getCommandName();
+        if ("getMore".equals(commandName)) {
+            stats.getMoreNanos.add(nanos);
+            trackCursor(stats, event.getResponse(), "nextBatch");
+        } else {
+            record(stats, nanos);
+            if ("find".equals(commandName) || "aggregate".equals(commandName)) {
+                trackCursor(stats, event.getResponse(), "firstBatch");
+            }
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        ShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats != null) {
+            stats.failures.increment();
+            if (!"getMore".equals(event.getCommandName())) {
+                record(stats, event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+        }
+    }
+
+    /**
+     * The worst query shapes seen since startup
+     * @param sort total (time across all calls), p99, slow (slow call count) or scan (docs examined per returned)
+     * @param limit Maximum number of shapes
+     * @return Shape statistics, worst first
+     * @throws IllegalArgumentException if sort is not one of the above
+     */
+    public List<QueryShapeStats> top(String sort, int limit) {
+        Comparator<QueryShapeStats> order;
+        switch (sort) {
+            case "total":
+                order = Comparator.comparingDouble(QueryShapeStats::getTotalMs);
+                break;
+            case "p99":
+                order = Comparator.comparingDouble(QueryShapeStats::getP99Ms);
+                break;
+            case "slow":
+                order = Comparator.comparingLong(QueryShapeStats::getSlowCalls);
+                break;
+            case "scan":
+                order = Comparator.comparing(QueryShapeStats::getDocsExaminedPerReturned,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            default:
+                throw new IllegalArgumentException("sort must be one of total, p99, slow, scan");
+        }
+        List<QueryShapeStats> result = new ArrayList<>(shapes.size());
+        for (ShapeStats stats : shapes.values()) {
+            result.add(stats.snapshot());
+        }
+        result.sort(order.reversed());
+        return result.subList(0, Math.min(Math.max(limit, 0), result.size()));
+    }
+
+    private ShapeStats register(String shape, String commandName, BsonDocument command, String database) {
+        if (shapes.size() >= maxShapes) {
+            return shapes.computeIfAbsent(OTHER, key -> new ShapeStats(OTHER, "-", "-", null, null));
+        }
+        // The command document is only valid during the event, so the explain sample is a copy
+        BsonDocument sample = explain && !"insert".equals(commandName) ? explainSample(command) : null;
+        ShapeStats created = new ShapeStats(shape, commandName, QueryShape.collection(commandName, command), sample, database);
+        ShapeStats existing = shapes.putIfAbsent(shape, created);
+        if (existing != null) {
+            return existing;
+        }
+        scheduleExplain(created);
+        return created;
+    }
+
+    private void record(ShapeStats stats, long nanos) {
+        stats.timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(slowQueryMs)) {
+            return;
+        }
+        stats.slowCalls.increment();
+        long now = System.nanoTime();
+        long lastLogged = stats.lastSlowLog.get();
+        if ((lastLogged == 0 || now - lastLogged >= SLOW_LOG_INTERVAL_NANOS) && stats.lastSlowLog.compareAndSet(lastLogged, now)) {
+            log.warn("Slow Mongo query ({} ms, {} slow calls so far) from {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    stats.slowCalls.sum(), stats.sources.isEmpty() ? "unknown caller" : stats.sources, stats.shape);
+        }
+        Explain last = stats.explain;
+        if (last != null && last.at.isBefore(Instant.now().minusMillis(explainIntervalMs))) {
+            scheduleExplain(stats);
+        }
+    }
+
+    private void trackCursor(ShapeStats stats, BsonDocument response, String batch) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return;
+        }
+        BsonValue documents = cursor.asDocument().get(batch);
+        if (documents != null && documents.isArray()) {
+            stats.docsReturned.add(documents.asArray().size());
+        }
+        long id = cursorId(cursor.asDocument().get("id"));
+        if (id != 0 && openCursors.size() < MAX_OPEN_CURSORS) {
+            openCursors.put(id, stats);
+        }
+    }
+
+    private static long cursorId(BsonValue value) {
+        return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+    }
+
+    private void scheduleExplain(ShapeStats stats) {
+        if (stats.sample == null || !stats.explainPending.compareAndSet(false, true)) {
+            return;
+        }
+        explainer.execute(() -> {
+            try {
+                stats.explain = runExplain(stats);
+            } finally {
+                stats.explainPending.set(false);
+            }
+        });
+    }
+
+    private Explain runExplain(ShapeStats stats) {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return new Explain(null, null, null, List.of(), "MongoTemplate not available");
+        }
+        try {
+            BsonDocument command = new BsonDocument("explain", stats.sample)
+                    .append("verbosity", new BsonString("executionStats"));
+            Document result = template.getMongoDatabaseFactory().getMongoDatabase(stats.database).runCommand(command);
+            Document executionStats = find(result, "executionStats");
+            Document winningPlan = find(result, "winningPlan");
+            Set<String> stages = new LinkedHashSet<>();
+            if (winningPlan != null) {
+                collectStages(winningPlan, stages);
+            }
+            return new Explain(
+                    executionStats != null ? number(executionStats.get("totalDocsExamined")) : null,
+                    executionStats != null ? number(executionStats.get("totalKeysExamined")) : null,
+                    executionStats != null ? number(executionStats.get("nReturned")) : null,
+                    new ArrayList<>(stages), null);
+        } catch (RuntimeException e) {
+            log.debug("Could not explain {}", stats.shape, e);
+            return new Explain(null, null, null, List.of(), e.getMessage());
+        }
+    }
+
+    // Strips session and routing fields: explain wraps the bare command
+    private static BsonDocument explainSample(BsonDocument command) {
+        BsonDocument sample = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            String key = field.getKey();
+            if (!key.startsWith("$") && !"lsid".equals(key) && !"txnNumber".equals(key)) {
+                sample.append(key, field.getValue());
+            }
+        }
+        return sample.clone();
+    }
+
+    // Depth-first search; aggregate explains nest executionStats under their first stage
+    private static Document find(Object value, String key) {
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            Object direct = document.get(key);
+            if (direct instanceof Document) {
+                return (Document) direct;
+            }
+            for (Object child : document.values()) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value instanceof List) {
+            for (Object child : (List<?>) value) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void collectStages(Object value, Set<String> stages) {
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            if (document.get("stage") instanceof String) {
+                stages.add(document.getString("stage"));
+            }
+            document.values().forEach(child -> collectStages(child, stages));
+        } else if (value instanceof List) {
+            ((List<?>) value).forEach(child -> collectStages(child, stages));
+        }
+    }
+
+    private static Long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    /** One explain(executionStats) result */
+    private static final class Explain {
+
+        final Long docsExamined;
+        final Long keysExamined;
+        final Long returned;
+        final List<String> stages;
+        final String error;
+        final Instant at = Instant.now();
+
+        Explain(Long docsExamined, Long keysExamined, Long returned, List<String> stages, String error) {
+            this.docsExamined = docsExamined;
+            this.keysExamined = keysExamined;
+            this.returned = returned;
+            this.stages = stages;
+            this.error = error;
+        }
+    }
+
+    private final class ShapeStats {
+
+        final String shape;
+        final String command;
+        final String collection;
+        final BsonDocument sample;
+        final String database;
+        final Timer timer;
+        final Set<String> sources = ConcurrentHashMap.newKeySet();
+        final LongAdder failures = new LongAdder();
+        final LongAdder slowCalls = new LongAdder();
+        final LongAdder docsReturned = new LongAdder();
+        final LongAdder getMoreNanos = new LongAdder();
+        final AtomicLong lastSlowLog = new AtomicLong();
+        final AtomicBoolean explainPending = new AtomicBoolean();
+        volatile Explain explain;
+
+        ShapeStats(String shape, String command, String collection, BsonDocument sample, String database) {
+            this.shape = shape;
+            this.command = command;
+            this.collection = collection;
+            this.sample = sample;
+            this.database = database;
+            this.timer = Timer.builder("mongodb.query.shape")
+                    .description("MongoDB command latency by query shape")
+                    .tag("collection", collection)
+                    .tag("command", command)
+                    .tag("shape", shape)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(meterRegistry);
+        }
+
+        QueryShapeStats snapshot() {
+            HistogramSnapshot histogram = timer.takeSnapshot();
+            QueryShapeStats stats = new QueryShapeStats();
+            stats.setShape(shape);
+            stats.setCommand(command);
+            stats.setCollection(collection);
+            stats.setSources(new ArrayList<>(sources));
+            long calls = histogram.count();
+            stats.setCalls(calls);
+            stats.setFailures(failures.sum());
+            stats.setSlowCalls(slowCalls.sum());
+            stats.setTotalMs(histogram.total(TimeUnit.MILLISECONDS) + getMoreNanos.sum() / 1e6);
+            stats.setMeanMs(histogram.mean(TimeUnit.MILLISECONDS));
+            stats.setMaxMs(histogram.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : histogram.percentileValues()) {
+                double ms = percentile.value(TimeUnit.MILLISECONDS);
+                if (percentile.percentile() == 0.5) {
+                    stats.setP50Ms(ms);
+                } else if (percentile.percentile() == 0.99) {
+                    stats.setP99Ms(ms);
+                } else if (percentile.percentile() == 0.999) {
+                    stats.setP999Ms(ms);
+                }
+            }
+            stats.setDocsReturnedPerCall(calls > 0 ? (double) docsReturned.sum() / calls : 0);
+            Explain last = explain;
+            if (last != null) {
+                stats.setPlanStages(last.stages);
+                stats.setDocsExamined(last.docsExamined);
+                stats.setKeysExamined(last.keysExamined);
+                stats.setExplainReturned(last.returned);
+                if (last.docsExamined != null && last.returned != null) {
+                    stats.setDocsExaminedPerReturned((double) last.docsExamined / Math.max(last.returned, 1));
+                }
+                stats.setExplainedAt(last.at);
+                stats.setExplainError(last.error);
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bhrugu.api.restapi.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of revoked session token ids
+ * A lookup is a handful of bit reads with no allocation and no locking.
+ * False positives are possible (a valid token is occasionally treated as
+ * revoked and the user logs in again); false negatives are not.
+ *
+ * Two generations are kept and rotated every retention period, so the filter
+ * never fills up: a revoked id stays visible for at least one full retention
+ * period, which is the session lifetime, after which the token has expired anyway.
+ */
+public class RevocationBloomFilter {
+
+    private final int mask;
+    private final int hashes;
+    private final long retentionMillis;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAt;
+
+    /**
+     * @param expectedRevocations Revocations per retention period the filter is sized for
+     * @param falsePositiveRate Target false positive rate at that load, e.g. 0.001
+     * @param retention How long a revocation must stay visible (the token lifetime)
+     */
+    public RevocationBloomFilter(int expectedRevocations, double falsePositiveRate, Duration retention) {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedRevocations * Math.log(falsePositiveRate) / (ln2 * ln2));
+        // Round up to a power of two (at least one word) so an index is a mask, not a modulo
+        int bits = Integer.highestOneBit((int) Math.max(64, Math.min(optimalBits, 1 << 30)) - 1) << 1;
+        this.mask = bits - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedRevocations * ln2));
+        this.retentionMillis = retention.toMillis();
+        this.current = new AtomicLongArray(bits / 64);
+        this.previous = new AtomicLongArray(bits / 64);
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Mark a token id as revoked
+     * @param tokenId The random id embedded in the token
+     */
+    public void add(long tokenId) {
+        rotateIfDue();
+        AtomicLongArray words = current;
+        long h1 = mix(tokenId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & mask;
+            int word = bit >>> 6;
+            long flag = 1L << bit;
+            long value;
+            do {
+                value = words.get(word);
+            } while ((value & flag) == 0 && !words.compareAndSet(word, value, value | flag));
+        }
+    }
+
+    /**
+     * @param tokenId The random id embedded in the token
+     * @return true if the id was (probably) revoked, false if it definitely was not
+     */
+    public boolean mightContain(long tokenId) {
+        rotateIfDue();
+        long h1 = mix(tokenId);
+        long h2 = mix(h1) | 1;
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    private boolean contains(AtomicLongArray words, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) (h1 + i * h2) & mask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() - rotatedAt < retentionMillis) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - rotatedAt >= retentionMillis) {
+                previous = current;
+                current = new AtomicLongArray(previous.length());
+                rotatedAt = now;
+            }
+        }
+    }
+
+    // SplitMix64 finalizer: spreads sequential or low-entropy ids over all bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
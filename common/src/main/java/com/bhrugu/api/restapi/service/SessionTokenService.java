@@ -0,0 +1,271 @@
+package com.bhrugu.api.restapi.service;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Stateless, HMAC-signed session tokens
+ * Issued on login and verified without any database access, so authenticated
+ * endpoints can check identity in microseconds instead of a Mongo round-trip.
+ *
+ * Token layouts (base64url without padding):
+ *   1: version | subject ObjectId (12) | expiresAt epoch seconds (8) | token id (8) | HMAC-SHA256 truncated (16)
+ *      45 bytes = 60 characters, used whenever the subject is an ObjectId in canonical hex
+ *   2: version | expiresAt (8) | token id (8) | subject length (1) | subject UTF-8 (1-255) | HMAC (16)
+ *      any other subject id, e.g. ids assigned by an import rather than by MongoDB
+ *
+ * Verification decodes into a fixed-size array, recomputes the MAC into a
+ * per-thread scratch buffer and compares in constant time. Logout adds the
+ * token id to a RevocationBloomFilter sized by auth.session.revocation.expected.
+ *
+ * The signing key comes from auth.session.secret. Without one a random key is
+ * generated, which invalidates all tokens on restart and across instances.
+ */
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+
+    /** Response header carrying a freshly issued token */
+    public static final String TOKEN_HEADER = "X-Session-Token";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte OBJECT_ID_VERSION = 1;
+    private static final byte TEXT_VERSION = 2;
+    private static final int PAYLOAD_LENGTH = 1 + 12 + 8 + 8;
+    private static final int MAC_LENGTH = 16;
+    private static final int TOKEN_BYTES = PAYLOAD_LENGTH + MAC_LENGTH;
+    private static final int TOKEN_CHARS = (TOKEN_BYTES * 4 + 2) / 3;
+    // Version 2: version, expiresAt, token id and subject length before the subject
+    private static final int TEXT_HEADER_LENGTH = 1 + 8 + 8 + 1;
+    private static final int MAX_SUBJECT_BYTES = 255;
+    private static final int MAX_TOKEN_CHARS = ((TEXT_HEADER_LENGTH + MAX_SUBJECT_BYTES + MAC_LENGTH) * 4 + 2) / 3;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final RevocationBloomFilter revoked;
+    private final SecureRandom random = new SecureRandom();
+
+    // Mac is not thread-safe and costly to look up; keep one (and its output buffer) per thread
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<byte[]> macOutput = ThreadLocal.withInitial(() -> new byte[32]);
+
+    public SessionTokenService(@Value("${auth.session.secret:}") String secret,
+                               @Value("${auth.session.ttl-minutes:720}") long ttlMinutes,
+                               @Value("${auth.session.revocation.expected:100000}") int expectedRevocations) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+            log.warn("auth.session.secret is not set; using a random key, sessions will not survive a restart");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = Duration.ofMinutes(ttlMinutes).getSeconds();
+        this.revoked = new RevocationBloomFilter(expectedRevocations, 0.001, Duration.ofSeconds(ttlSeconds));
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * A verified session
+     */
+    public static final class Session {
+        private final String subjectId;
+        private final long expiresAt;
+        private final long tokenId;
+
+        Session(String subjectId, long expiresAt, long tokenId) {
+            this.subjectId = subjectId;
+            this.expiresAt = expiresAt;
+            this.tokenId = tokenId;
+        }
+
+        public String getSubjectId() { return subjectId; }
+        public long getExpiresAt() { return expiresAt; }
+        public long getTokenId() { return tokenId; }
+    }
+
+    /**
+     * Issue a token for a logged-in user
+     * @param subjectId The user's id; ObjectIds get the compact layout, any other id up to 255 UTF-8 bytes is carried as text
+     * @return Token for the X-Session-Token header / Authorization: Bearer
+     * @throws IllegalArgumentException if subjectId is null, empty or longer than 255 bytes
+     */
+    public String issue(String subjectId) {
+        if (subjectId == null || subjectId.isEmpty()) {
+            throw new IllegalArgumentException("A session needs a subject id");
+        }
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        byte[] token;
+        int payloadLength;
+        if (isCanonicalObjectId(subjectId)) {
+            token = new byte[TOKEN_BYTES];
+            token[0] = OBJECT_ID_VERSION;
+            System.arraycopy(new ObjectId(subjectId).toByteArray(), 0, token, 1, 12);
+            putLong(token, 13, expiresAt);
+            putLong(token, 21, random.nextLong());
+            payloadLength = PAYLOAD_LENGTH;
+        } else {
+            byte[] subject = subjectId.getBytes(StandardCharsets.UTF_8);
+            if (subject.length > MAX_SUBJECT_BYTES) {
+                throw new IllegalArgumentException("Subject id is longer than " + MAX_SUBJECT_BYTES + " bytes");
+            }
+            payloadLength = TEXT_HEADER_LENGTH + subject.length;
+            token = new byte[payloadLength + MAC_LENGTH];
+            token[0] = TEXT_VERSION;
+            putLong(token, 1, expiresAt);
+            putLong(token, 9, random.nextLong());
+            token[17] = (byte) subject.length;
+            System.arraycopy(subject, 0, token, TEXT_HEADER_LENGTH, subject.length);
+        }
+        byte[] mac = sign(token, payloadLength);
+        System.arraycopy(mac, 0, token, payloadLength, MAC_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Verify a token
+     * @param token The token as issued, or null
+     * @return The session, or null if the token is malformed, forged, expired or revoked
+     */
+    public Session verify(String token) {
+        if (token == null || token.length() > MAX_TOKEN_CHARS) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int payloadLength;
+        if (token.length() == TOKEN_CHARS && bytes.length == TOKEN_BYTES && bytes[0] == OBJECT_ID_VERSION) {
+            payloadLength = PAYLOAD_LENGTH;
+        } else if (bytes.length > TEXT_HEADER_LENGTH + MAC_LENGTH && bytes[0] == TEXT_VERSION
+                && bytes.length == TEXT_HEADER_LENGTH + (bytes[17] & 0xff) + MAC_LENGTH) {
+            payloadLength = bytes.length - MAC_LENGTH;
+        } else {
+            return null;
+        }
+
+        byte[] expected = sign(bytes, payloadLength);
+        int diff = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            diff |= expected[i] ^ bytes[payloadLength + i];
+        }
+        if (diff != 0) {
+            return null;
+        }
+
+        boolean objectId = bytes[0] == OBJECT_ID_VERSION;
+        long expiresAt = getLong(bytes, objectId ? 13 : 1);
+        long tokenId = getLong(bytes, objectId ? 21 : 9);
+        if (expiresAt <= System.currentTimeMillis() / 1000 || revoked.mightContain(tokenId)) {
+            return null;
+        }
+        String subjectId = objectId
+                ? hex(bytes, 1, 12)
+                : new String(bytes, TEXT_HEADER_LENGTH, payloadLength - TEXT_HEADER_LENGTH, StandardCharsets.UTF_8);
+        return new Session(subjectId, expiresAt, tokenId);
+    }
+
+    /**
+     * Revoke a token (logout)
+     * @param token The token to revoke
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(String token) {
+        Session session = verify(token);
+        if (session == null) {
+            return false;
+        }
+        revoked.add(session.getTokenId());
+        return true;
+    }
+
+    /**
+     * Extract the token from an Authorization header value
+     * @param authorization "Bearer <token>", or null
+     * @return The token, or null if the header is absent or not a bearer token
+     */
+    public static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+
+    // Only ids that hex() turns back into the same string use the 12-byte form
+    private static boolean isCanonicalObjectId(String id) {
+        if (id.length() != 24) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MAC over the payload bytes; result lives in a per-thread buffer
+    private byte[] sign(byte[] token, int payloadLength) {
+        Mac mac = macs.get();
+        byte[] output = macOutput.get();
+        mac.update(token, 0, payloadLength);
+        try {
+            mac.doFinal(output, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return output;
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static String hex(byte[] bytes, int offset, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            chars[i * 2] = HEX[b >>> 4];
+            chars[i * 2 + 1] = HEX[b & 0x0f];
+        }
+        return new String(chars);
+    }
+}
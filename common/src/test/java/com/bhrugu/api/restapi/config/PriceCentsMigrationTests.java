@@ -0,0 +1,76 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.model.MediaCollection;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceCentsMigrationTests {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate template;
+	private MongoCollection<Document> collection;
+	private final PriceCentsMigration migration = new PriceCentsMigration();
+
+	@BeforeEach
+	void startServer() {
+		server = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		template = new MongoTemplate(client, "test");
+		collection = template.getCollection(MediaCollection.NAME);
+		ReflectionTestUtils.setField(migration, "mongoTemplate", template);
+	}
+
+	@AfterEach
+	void stopServer() {
+		client.close();
+		server.shutdownNow();
+	}
+
+	private Document stored(String title) {
+		return collection.find(new Document("title", title)).first();
+	}
+
+	@Test
+	void everyNumericLegacyPriceIsAnAmount() {
+		collection.insertMany(List.of(
+				new Document("title", "int32").append("buy", 15),
+				new Document("title", "int64").append("buy", 7L),
+				new Document("title", "double").append("buy", 14.99),
+				new Document("title", "decimal").append("buy", new Decimal128(new BigDecimal("12.50"))),
+				new Document("title", "text").append("buy", "free")));
+
+		migration.migrate();
+
+		assertThat(stored("int32")).doesNotContainKey("buy").containsEntry("buyCents", 1500L);
+		assertThat(stored("int64")).doesNotContainKey("buy").containsEntry("buyCents", 700L);
+		assertThat(stored("double")).doesNotContainKey("buy").containsEntry("buyCents", 1499L);
+		assertThat(stored("decimal")).doesNotContainKey("buy").containsEntry("buyCents", 1250L);
+		assertThat(stored("text")).containsEntry("buy", "free").doesNotContainKey("buyCents");
+	}
+
+	@Test
+	void existingCentsWinAndASecondRunChangesNothing() {
+		collection.insertOne(new Document("title", "both").append("rent", 3).append("rentCents", 399L));
+
+		migration.migrate();
+
+		assertThat(stored("both")).doesNotContainKey("rent").containsEntry("rentCents", 399L);
+		assertThat(migration.migrate()).isZero();
+	}
+}
@@ -0,0 +1,36 @@
+package com.bhrugu.api.restapi.config;
+
+import com.bhrugu.api.restapi.service.QueryShapeProfiler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryShapesEndpointTests {
+
+	private final QueryShapesEndpoint endpoint = new QueryShapesEndpoint();
+
+	@BeforeEach
+	void setUp() {
+		QueryShapeProfiler profiler = new QueryShapeProfiler();
+		ReflectionTestUtils.setField(profiler, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(endpoint, "queryShapeProfiler", profiler);
+	}
+
+	@Test
+	void sortAndLimitAreOptional() {
+		assertThat(endpoint.queries(null, null)).isEmpty();
+		assertThat(endpoint.queries("p99", 5)).isEmpty();
+	}
+
+	@Test
+	void unknownSortIsABadRequestNotAServerError() {
+		assertThatThrownBy(() -> endpoint.queries("fastest", null))
+				.isInstanceOf(InvalidEndpointRequestException.class)
+				.hasMessageContaining("total, p99, slow, scan");
+	}
+}
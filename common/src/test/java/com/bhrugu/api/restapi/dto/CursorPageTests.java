@@ -0,0 +1,37 @@
+package com.bhrugu.api.restapi.dto;
+
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorPageTests {
+
+	@Test
+	void cursorsRoundTripAndEmptyMeansFirstPage() {
+		assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor("66a1f0c2e4b0a1b2c3d4e5f6"))).isEqualTo("66a1f0c2e4b0a1b2c3d4e5f6");
+		assertThat(CursorPage.decodeCursor(null)).isNull();
+		assertThat(CursorPage.decodeCursor("")).isNull();
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("not a cursor!"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("%%%"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("dj"));
+	}
+
+	@Test
+	void foreignCursorsAreRejected() {
+		// A raw id, a token from another cursor version and a token with no key
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor("66a1f0c2e4b0a1b2c3d4e5f6"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(token("v2:66a1f0c2e4b0a1b2c3d4e5f6")));
+		assertThatIllegalArgumentException().isThrownBy(() -> CursorPage.decodeCursor(token("v1:")));
+	}
+
+	private static String token(String payload) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,81 @@
+package com.bhrugu.api.restapi.service;
+
+import com.bhrugu.api.restapi.dto.QueryShapeStats;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class QueryShapeProfilerTests {
+
+	private static final ConnectionDescription CONNECTION =
+			new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+	private final QueryShapeProfiler profiler = new QueryShapeProfiler();
+	private int requestId;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(profiler, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(profiler, "slowQueryMs", 100L);
+		ReflectionTestUtils.setField(profiler, "maxShapes", 2);
+		ReflectionTestUtils.setField(profiler, "explain", false);
+	}
+
+	@Test
+	void callsOfOneShapeAreAggregatedWithTheirSourceAndGetMores() {
+		String previous = QueryShapeProfiler.enterRepositoryMethod("UserRepository.findByUsernameOrEmail");
+		try {
+			run("find", "{find: 'users', filter: {username: 'ann'}}", "{cursor: {id: 7, firstBatch: [{}, {}]}, ok: 1}", 5);
+			run("getMore", "{getMore: 7, collection: 'users'}", "{cursor: {id: 0, nextBatch: [{}]}, ok: 1}", 1);
+			run("find", "{find: 'users', filter: {username: 'bob'}}", "{cursor: {id: 0, firstBatch: []}, ok: 1}", 150);
+		} finally {
+			QueryShapeProfiler.exitRepositoryMethod(previous);
+		}
+
+		List<QueryShapeStats> top = profiler.top("total", 10);
+		assertThat(top).hasSize(1);
+		QueryShapeStats users = top.get(0);
+		assertThat(users.getShape()).isEqualTo("find users {username: ?}");
+		assertThat(users.getSources()).containsExactly("UserRepository.findByUsernameOrEmail");
+		assertThat(users.getCalls()).isEqualTo(2);
+		assertThat(users.getSlowCalls()).isEqualTo(1);
+		assertThat(users.getDocsReturnedPerCall()).isEqualTo(1.5);
+		assertThat(users.getTotalMs()).isEqualTo(156.0);
+	}
+
+	@Test
+	void shapesBeyondTheLimitShareOneBucket() {
+		run("find", "{find: 'users', filter: {username: 'ann'}}", "{ok: 1}", 1);
+		run("count", "{count: 'users', query: {}}", "{ok: 1}", 1);
+		run("distinct", "{distinct: 'users', key: 'email'}", "{ok: 1}", 1);
+		run("delete", "{delete: 'users', deletes: [{q: {_id: 1}}]}", "{ok: 1}", 1);
+
+		assertThat(profiler.top("total", 10)).extracting(QueryShapeStats::getShape)
+				.contains(QueryShapeProfiler.OTHER).hasSize(3);
+	}
+
+	@Test
+	void unknownSortIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> profiler.top("fastest", 10));
+	}
+
+	private void run(String commandName, String command, String response, long millis) {
+		int id = ++requestId;
+		profiler.commandStarted(new CommandStartedEvent(null, id, id, CONNECTION, "store", commandName, BsonDocument.parse(command)));
+		profiler.commandSucceeded(new CommandSucceededEvent(null, id, id, CONNECTION, "store", commandName,
+				BsonDocument.parse(response), TimeUnit.MILLISECONDS.toNanos(millis)));
+	}
+}
@@ -0,0 +1,35 @@
+package com.bhrugu.api.restapi.service;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryShapeTests {
+
+	@Test
+	void sameQueryWithDifferentValuesHasOneShape() {
+		String ann = QueryShape.of("find", BsonDocument.parse(
+				"{find: 'users', filter: {$or: [{username: 'ann'}, {email: 'ann@example.com'}]}, limit: 1, $db: 'store'}"));
+		String bob = QueryShape.of("find", BsonDocument.parse(
+				"{find: 'users', filter: {$or: [{username: 'bob'}, {email: 'bob@example.com'}]}, limit: 1, $db: 'store'}"));
+
+		assertThat(ann).isEqualTo(bob).isEqualTo("find users {$or: [{username: ?}, {email: ?}]}");
+	}
+
+	@Test
+	void regexKeepsOptionsAndValueListsCollapse() {
+		assertThat(QueryShape.of("find", BsonDocument.parse(
+				"{find: 'media-catalog', filter: {title: {$regex: 'star', $options: 'i'}}}")))
+				.isEqualTo("find media-catalog {title: /?/i}");
+		assertThat(QueryShape.of("find", BsonDocument.parse(
+				"{find: 'media-catalog', filter: {type: {$in: ['movie', 'tv']}, featured: true}, sort: {_id: -1}}")))
+				.isEqualTo("find media-catalog {type: {$in: [?]}, featured: ?} sort {_id: -1}");
+	}
+
+	@Test
+	void commandsWithoutQueriesHaveNoShape() {
+		assertThat(QueryShape.of("hello", BsonDocument.parse("{hello: 1}"))).isNull();
+		assertThat(QueryShape.of("getMore", BsonDocument.parse("{getMore: 42, collection: 'users'}"))).isNull();
+	}
+}
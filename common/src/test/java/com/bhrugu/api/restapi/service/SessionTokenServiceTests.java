@@ -0,0 +1,90 @@
+package com.bhrugu.api.restapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionTokenServiceTests {
+
+	private static final String USER_ID = "64b7f0c2a1b2c3d4e5f60718";
+
+	private final SessionTokenService tokens = new SessionTokenService("test-secret-test-secret-test-secret", 60, 1000);
+
+	@Test
+	void issuedTokenVerifiesToItsSubject() {
+		String token = tokens.issue(USER_ID);
+
+		SessionTokenService.Session session = tokens.verify(token);
+
+		assertThat(session).isNotNull();
+		assertThat(session.getSubjectId()).isEqualTo(USER_ID);
+	}
+
+	@Test
+	void subjectsThatAreNotObjectIdsRoundTrip() {
+		for (String subject : new String[] {"user-42", "0b9e2f6c-4c1e-4f1a-9a57-2f8d3c1e7b10", "José", "64B7F0C2A1B2C3D4E5F60718"}) {
+			SessionTokenService.Session session = tokens.verify(tokens.issue(subject));
+
+			assertThat(session).isNotNull();
+			assertThat(session.getSubjectId()).isEqualTo(subject);
+		}
+	}
+
+	@Test
+	void tamperedTextSubjectTokenIsRejected() {
+		String token = tokens.issue("user-42");
+		char c = token.charAt(25);
+		String tampered = token.substring(0, 25) + (c == 'A' ? 'B' : 'A') + token.substring(26);
+
+		assertThat(tokens.verify(tampered)).isNull();
+		assertThat(tokens.verify(token.substring(0, token.length() - 2))).isNull();
+	}
+
+	@Test
+	void missingOrOversizedSubjectIsRefusedWithoutIssuing() {
+		assertThatThrownBy(() -> tokens.issue(null)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> tokens.issue("")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> tokens.issue("x".repeat(256))).isInstanceOf(IllegalArgumentException.class);
+		assertThat(tokens.verify(tokens.issue("x".repeat(255)))).isNotNull();
+	}
+
+	@Test
+	void tamperedOrForeignTokensAreRejected() {
+		String token = tokens.issue(USER_ID);
+		char last = token.charAt(10);
+		String tampered = token.substring(0, 10) + (last == 'A' ? 'B' : 'A') + token.substring(11);
+		SessionTokenService otherKey = new SessionTokenService("another-secret-another-secret-xx", 60, 1000);
+
+		assertThat(tokens.verify(tampered)).isNull();
+		assertThat(otherKey.verify(token)).isNull();
+		assertThat(tokens.verify("not-a-token")).isNull();
+		assertThat(tokens.verify(null)).isNull();
+	}
+
+	@Test
+	void revokedTokenIsRejectedWhileOthersStayValid() {
+		String revoked = tokens.issue(USER_ID);
+		String other = tokens.issue(USER_ID);
+
+		assertThat(tokens.revoke(revoked)).isTrue();
+
+		assertThat(tokens.verify(revoked)).isNull();
+		assertThat(tokens.verify(other)).isNotNull();
+		assertThat(tokens.revoke(revoked)).isFalse();
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		SessionTokenService expired = new SessionTokenService("test-secret-test-secret-test-secret", 0, 1000);
+
+		assertThat(expired.verify(expired.issue(USER_ID))).isNull();
+	}
+
+	@Test
+	void bearerTokenIsExtractedFromAuthorizationHeader() {
+		assertThat(SessionTokenService.bearerToken("Bearer abc")).isEqualTo("abc");
+		assertThat(SessionTokenService.bearerToken("Basic abc")).isNull();
+		assertThat(SessionTokenService.bearerToken(null)).isNull();
+	}
+}
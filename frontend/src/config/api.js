@@ -21,6 +21,9 @@ const config = {
   
   // Fallback API URL for development testing
   FALLBACK_API_URL: process.env.REACT_APP_FALLBACK_API_URL || 'http://localhost:3003',
+  
+  // Fields the poster grids render; list endpoints return only these (?fields=)
+  GRID_FIELDS: 'id,title,type,poster,rent,buy',
 };
 
 export default config;
@@ -20,8 +20,8 @@ const Home = () => {
         
         // Fetch general data and use first few items as featured content
         const [moviesResponse, tvShowsResponse] = await Promise.all([
-          fetch(`${config.API_BASE_URL}/movies`),
-          fetch(`${config.API_BASE_URL}/tvshows`)
+          fetch(`${config.API_BASE_URL}/movies?fields=${config.GRID_FIELDS}`),
+          fetch(`${config.API_BASE_URL}/tvshows?fields=${config.GRID_FIELDS}`)
         ]);
         
         const moviesResult = await moviesResponse.json();
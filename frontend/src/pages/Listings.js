@@ -30,7 +30,7 @@ const Listings = () => {
       console.log(`🔍 Searching for: "${query}"`);
       
       // Use the dedicated search endpoint from Assignment 2
-      const response = await fetch(`${config.API_BASE_URL}/media/search?title=${encodeURIComponent(query)}`);
+      const response = await fetch(`${config.API_BASE_URL}/media/search?title=${encodeURIComponent(query)}&fields=${config.GRID_FIELDS}`);
       const result = await response.json();
       
       console.log('🔍 Search API Response:', result);
@@ -81,8 +81,8 @@ const Listings = () => {
       
       // Fetch movies and TV shows separately using your comprehensive API
       const [moviesResponse, tvShowsResponse] = await Promise.all([
-        fetch(`${config.API_BASE_URL}/movies`),
-        fetch(`${config.API_BASE_URL}/tvshows`)
+        fetch(`${config.API_BASE_URL}/movies?fields=${config.GRID_FIELDS}`),
+        fetch(`${config.API_BASE_URL}/tvshows?fields=${config.GRID_FIELDS}`)
       ]);
       
       const moviesResult = await moviesResponse.json();
@@ -0,0 +1,30 @@
+#!/bin/bash
+# End-to-end load test against an in-process MongoDB stand-in
+#
+# Usage: loadtest/e2e.sh [backend|backend_new/restapi] [--option=value ...]
+#   e.g. loadtest/e2e.sh backend --titles=100000 --users=64 --duration=120
+#
+# Boots the module against a synthetic catalog (10k titles by default, up to
+# 1M with --titles) and synthetic accounts, replays the home / search /
+# details / login / register mix and reports throughput, p50/p99/p999 and
+# allocation rate per endpoint. Options are listed in LoadTest.java; --rate
+# paces the mix to a fixed number of visits per second instead of a closed
+# loop. The stand-in holds the catalog in this JVM's heap: raise MAVEN_OPTS
+# (-Xmx) above the 4g default for catalogs beyond a few hundred thousand titles.
+# Reports are written to loadtest/results/e2e-<module>-<timestamp>.txt.
+set -e
+
+MODULE=${1:-backend_new/restapi}
+shift || true
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+echo "🏗️  Building $MODULE..."
+cd "$ROOT/$MODULE"
+sh ./mvnw -q -f "$ROOT/common/pom.xml" install -DskipTests
+sh ./mvnw -q clean package -DskipTests
+
+echo "🚀 Running the load test..."
+# The module's Maven wrapper also runs the harness project
+MAVEN_OPTS=${MAVEN_OPTS:--Xmx4g} sh ./mvnw -q -f "$ROOT/loadtest/pom.xml" compile exec:java \
+    -Dexec.args="--module=$MODULE $*"
@@ -0,0 +1,52 @@
+package com.bhrugu.api.loadtest;
+
+import com.sun.management.ThreadMXBean;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Heap allocated by the backend process, read over JMX
+ * Sums the per-thread allocation counters of every live thread in the
+ * backend JVM. Bytes allocated by threads that exit between two readings are
+ * lost, which is negligible for pooled request threads; the readings
+ * themselves allocate a few KB on the JMX threads.
+ */
+final class AllocationProbe implements AutoCloseable {
+
+    private final JMXConnector connector;
+    private final ThreadMXBean threads;
+
+    /**
+     * @param port JMX port the backend was started with (-Dcom.sun.management.jmxremote.port)
+     * @throws IOException if the backend's JMX agent cannot be reached
+     */
+    AllocationProbe(int port) throws IOException {
+        JMXServiceURL url = new JMXServiceURL("service:jmx:rmi:///jndi/rmi://127.0.0.1:" + port + "/jmxrmi");
+        connector = JMXConnectorFactory.connect(url);
+        MBeanServerConnection connection = connector.getMBeanServerConnection();
+        threads = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+    }
+
+    /**
+     * @return Bytes allocated so far by the backend's live threads
+     */
+    long allocatedBytes() {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            // -1 for threads that exited after the id list was taken
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
@@ -0,0 +1,178 @@
+package com.bhrugu.api.loadtest;
+
+import com.bhrugu.api.loadtest.TrafficMix.Endpoint;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the traffic mix from a fixed number of virtual users
+ *
+ * Closed loop by default: each user sends its next visit as soon as the last
+ * one completes, which finds the maximum throughput but hides queueing
+ * (coordinated omission). With a target rate, users pace themselves to a
+ * schedule instead and latency is measured from the scheduled start, so time
+ * spent waiting behind a slow response counts against the endpoint.
+ */
+final class LoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final TrafficMix mix;
+    private final int users;
+    private final double rate;
+
+    /**
+     * @param client HTTP client shared by all users
+     * @param mix Traffic mix
+     * @param users Concurrent virtual users
+     * @param rate Target visits per second across all users, or 0 for closed loop
+     */
+    LoadGenerator(HttpClient client, TrafficMix mix, int users, double rate) {
+        this.client = client;
+        this.mix = mix;
+        this.users = users;
+        this.rate = rate;
+    }
+
+    /**
+     * Run one phase
+     * @param seconds Phase length
+     * @param only Endpoint to send exclusively, or null for the weighted mix
+     * @param seed Random seed; user n draws from seed + n
+     * @return Latency and outcome counts per endpoint
+     */
+    PhaseResult run(int seconds, Endpoint only, long seed) throws InterruptedException {
+        Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+        Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new Recorder(MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * users / rate) : 0;
+
+        List<Thread> threads = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            Random random = new Random(seed + user);
+            // Spread scheduled starts so paced users do not fire in lockstep
+            long firstStart = start + (intervalNanos * user) / users;
+            Thread thread = new Thread(() -> {
+                long scheduled = firstStart;
+                while (true) {
+                    if (intervalNanos > 0) {
+                        long wait = scheduled - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    long began = intervalNanos > 0 ? scheduled : System.nanoTime();
+                    if (began >= deadline) {
+                        return;
+                    }
+                    Endpoint endpoint = only != null ? only : mix.next(random);
+                    int failure = visit(mix.requests(endpoint, random));
+                    if (failure == 0) {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - began);
+                        latencies.get(endpoint).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                    } else {
+                        errors.get(endpoint).incrementAndGet();
+                        failures.computeIfAbsent(endpoint + " " + (failure < 0 ? "I/O error" : failure),
+                                key -> new LongAdder()).increment();
+                    }
+                    scheduled += intervalNanos;
+                }
+            }, "loadtest-user-" + user);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> errorCounts = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, latencies.get(endpoint).getIntervalHistogram());
+            errorCounts.put(endpoint, errors.get(endpoint).get());
+        }
+        Map<String, Long> failureCounts = new TreeMap<>();
+        failures.forEach((key, count) -> failureCounts.put(key, count.sum()));
+        return new PhaseResult(elapsed, histograms, errorCounts, failureCounts);
+    }
+
+    /**
+     * Send the visit's requests together
+     * @return 0 if every response was 2xx, otherwise the first other status, or -1 if a request failed outright
+     */
+    private int visit(List<HttpRequest> requests) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int failure = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status;
+            try {
+                status = response.join().statusCode();
+            } catch (RuntimeException e) {
+                status = -1;
+            }
+            if (failure == 0 && (status < 200 || status >= 300)) {
+                failure = status;
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Outcome of one phase
+     * Latencies are in microseconds and cover successful visits only.
+     */
+    static final class PhaseResult {
+
+        final double seconds;
+        final Map<Endpoint, Histogram> latencies;
+        final Map<Endpoint, Long> errors;
+        /** Failed visits by endpoint and status, e.g. "LOGIN 503" */
+        final Map<String, Long> failures;
+
+        PhaseResult(double seconds, Map<Endpoint, Histogram> latencies, Map<Endpoint, Long> errors, Map<String, Long> failures) {
+            this.seconds = seconds;
+            this.latencies = latencies;
+            this.errors = errors;
+            this.failures = failures;
+        }
+
+        long visits(Endpoint endpoint) {
+            return latencies.get(endpoint).getTotalCount() + errors.get(endpoint);
+        }
+
+        long totalVisits() {
+            long total = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                total += visits(endpoint);
+            }
+            return total;
+        }
+    }
+}
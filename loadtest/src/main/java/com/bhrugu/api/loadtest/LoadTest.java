@@ -0,0 +1,295 @@
+package com.bhrugu.api.loadtest;
+
+import com.bhrugu.api.loadtest.LoadGenerator.PhaseResult;
+import com.bhrugu.api.loadtest.TrafficMix.Endpoint;
+import org.HdrHistogram.Histogram;
+import org.bson.Document;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * End-to-end load test for backend or backend_new
+ *
+ * 1. Starts the in-process MongoDB stand-in and seeds a synthetic catalog
+ * 2. Boots the module's jar against it and waits for readiness
+ * 3. Registers one account over HTTP and clones it into the stand-in
+ * 4. Warms up, then replays the weighted traffic mix and reports throughput
+ *    and p50/p99/p999 latency per endpoint
+ * 5. Replays each endpoint on its own to attribute the backend's allocation
+ *    rate to it
+ *
+ * Options (all --name=value): module (backend | backend_new/restapi), jar,
+ * titles, accounts, users, rate (visits/s, 0 = closed loop), warmup,
+ * duration, isolated (seconds per endpoint, 0 to skip), seed, app-jvm-args,
+ * app-args. See loadtest/e2e.sh.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("module", "backend_new/restapi");
+        DEFAULTS.put("jar", "");
+        DEFAULTS.put("titles", "10000");
+        DEFAULTS.put("accounts", "1000");
+        DEFAULTS.put("users", "32");
+        DEFAULTS.put("rate", "0");
+        DEFAULTS.put("warmup", "20");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("isolated", "15");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("startup-timeout", "300");
+        DEFAULTS.put("app-jvm-args", "");
+        DEFAULTS.put("app-args", "");
+    }
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        File root = new File(System.getProperty("loadtest.root", "..")).getCanonicalFile();
+        Target target = Target.of(options.get("module"));
+        File jar = options.get("jar").isEmpty() ? findJar(new File(root, target.module())) : new File(options.get("jar"));
+        int titles = Integer.parseInt(options.get("titles"));
+        int accounts = Integer.parseInt(options.get("accounts"));
+        int users = Integer.parseInt(options.get("users"));
+        double rate = Double.parseDouble(options.get("rate"));
+        long seed = Long.parseLong(options.get("seed"));
+
+        File results = new File(root, "loadtest/results");
+        results.mkdirs();
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String name = target.name().toLowerCase();
+
+        try (MongoStandIn mongo = new MongoStandIn()) {
+            log("Seeding " + titles + " titles into the MongoDB stand-in");
+            mongo.insert(SyntheticCatalog.COLLECTION, SyntheticCatalog.generate(titles, seed));
+
+            int port = freePort();
+            int jmxPort = freePort();
+            File serverLog = new File(results, "server-e2e-" + name + "-" + stamp + ".log");
+            Process server = startServer(jar, port, jmxPort, mongo.uri(), options, serverLog);
+            try {
+                URI base = URI.create("http://127.0.0.1:" + port);
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                awaitReady(client, base, server, Integer.parseInt(options.get("startup-timeout")), serverLog);
+                seedAccounts(client, base, target, mongo, accounts);
+
+                TrafficMix mix = new TrafficMix(target, base, titles, accounts);
+                LoadGenerator generator = new LoadGenerator(client, mix, users, rate);
+                try (AllocationProbe allocation = new AllocationProbe(jmxPort)) {
+                    log("Warming up for " + options.get("warmup") + " s");
+                    generator.run(Integer.parseInt(options.get("warmup")), null, seed);
+
+                    log("Replaying the traffic mix for " + options.get("duration") + " s");
+                    long allocatedBefore = allocation.allocatedBytes();
+                    PhaseResult mixed = generator.run(Integer.parseInt(options.get("duration")), null, seed + 1);
+                    double mixedAllocation = (allocation.allocatedBytes() - allocatedBefore) / mixed.seconds;
+
+                    Map<Endpoint, PhaseResult> isolated = new LinkedHashMap<>();
+                    Map<Endpoint, Double> isolatedAllocation = new LinkedHashMap<>();
+                    int isolatedSeconds = Integer.parseInt(options.get("isolated"));
+                    if (isolatedSeconds > 0) {
+                        for (Endpoint endpoint : Endpoint.values()) {
+                            log("Replaying " + endpoint + " alone for " + isolatedSeconds + " s");
+                            allocatedBefore = allocation.allocatedBytes();
+                            PhaseResult phase = generator.run(isolatedSeconds, endpoint, seed + 2);
+                            isolated.put(endpoint, phase);
+                            isolatedAllocation.put(endpoint, (allocation.allocatedBytes() - allocatedBefore) / phase.seconds);
+                        }
+                    }
+
+                    String report = report(target, options, mixed, mixedAllocation, isolated, isolatedAllocation);
+                    System.out.println();
+                    System.out.print(report);
+                    File file = new File(results, "e2e-" + name + "-" + stamp + ".txt");
+                    Files.writeString(file.toPath(), report);
+                    log("Report written to " + file + " (server log: " + serverLog + ")");
+                }
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String key = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (key == null || !DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option: " + arg + " (known: " + DEFAULTS.keySet() + ")");
+            }
+            options.put(key, arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static File findJar(File module) {
+        File[] jars = new File(module, "target").listFiles((dir, file) -> file.endsWith(".jar") && !file.endsWith("-plain.jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException("No jar in " + module + "/target; build it first (./mvnw -q package -DskipTests)");
+        }
+        return jars[0];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Process startServer(File jar, int port, int jmxPort, String mongoUri,
+                                       Map<String, String> options, File serverLog) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(words(options.get("app-jvm-args")));
+        // Local, unauthenticated JMX on a fixed port for the allocation probe
+        command.add("-Dcom.sun.management.jmxremote.port=" + jmxPort);
+        command.add("-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort);
+        command.add("-Dcom.sun.management.jmxremote.host=127.0.0.1");
+        command.add("-Djava.rmi.server.hostname=127.0.0.1");
+        command.add("-Dcom.sun.management.jmxremote.authenticate=false");
+        command.add("-Dcom.sun.management.jmxremote.ssl=false");
+        command.add("-jar");
+        command.add(jar.getPath());
+        command.add("--server.port=" + port);
+        command.add("--spring.data.mongodb.uri=" + mongoUri);
+        command.add("--spring.data.mongodb.database=" + MongoStandIn.DATABASE);
+        command.addAll(words(options.get("app-args")));
+        log("Starting " + jar.getName() + " on port " + port);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(serverLog)
+                .start();
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    // Readiness includes catalog seeding, so this also waits for indexes and migrations
+    private static void awaitReady(HttpClient client, URI base, Process server, int timeoutSeconds, File serverLog)
+            throws IOException, InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(base.resolve("/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeoutSeconds).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + server.exitValue() + "; see " + serverLog);
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log("Backend ready");
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Backend not ready after " + timeoutSeconds + " s; see " + serverLog);
+    }
+
+    // One real registration, so the stored password is whatever the backend writes; the rest are copies of it
+    private static void seedAccounts(HttpClient client, URI base, Target target, MongoStandIn mongo, int accounts)
+            throws IOException, InterruptedException {
+        String template = TrafficMix.account(0);
+        HttpRequest register = HttpRequest.newBuilder(base.resolve("/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(target.registerBody(template, TrafficMix.PASSWORD)))
+                .build();
+        HttpResponse<String> response = client.send(register, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Registering the template account failed: " + response.statusCode() + " " + response.body());
+        }
+        Document stored = mongo.collection(target.accountCollection())
+                .find(new Document("email", Target.email(template)))
+                .first();
+        if (stored == null) {
+            throw new IllegalStateException("Template account not found in " + target.accountCollection());
+        }
+        List<Document> clones = new ArrayList<>(accounts);
+        for (int i = 1; i < accounts; i++) {
+            clones.add(target.cloneAccount(stored, TrafficMix.account(i)));
+        }
+        mongo.insert(target.accountCollection(), clones);
+        log("Seeded " + accounts + " accounts");
+    }
+
+    private static String report(Target target, Map<String, String> options, PhaseResult mixed, double mixedAllocation,
+                                 Map<Endpoint, PhaseResult> isolated, Map<Endpoint, Double> isolatedAllocation) {
+        StringWriter out = new StringWriter();
+        PrintWriter print = new PrintWriter(out);
+        double rate = Double.parseDouble(options.get("rate"));
+        print.printf("%s: %s titles, %s accounts, %s users, %s%n", target.module(), options.get("titles"),
+                options.get("accounts"), options.get("users"), rate > 0 ? "paced at " + options.get("rate") + " visits/s" : "closed loop");
+        print.println();
+        print.printf("Traffic mix (%.0f s)%n", mixed.seconds);
+        print.printf("%-10s %9s %9s %7s %9s %9s %9s %9s%n", "Endpoint", "Visits", "Visits/s", "Errors", "p50 ms", "p99 ms", "p999 ms", "Max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram latency = mixed.latencies.get(endpoint);
+            print.printf("%-10s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint, mixed.visits(endpoint),
+                    latency.getTotalCount() / mixed.seconds, mixed.errors.get(endpoint),
+                    millis(latency, 50), millis(latency, 99), millis(latency, 99.9), latency.getMaxValue() / 1000.0);
+        }
+        print.printf("%-10s %9d %9.1f   allocation %.1f MB/s%n", "ALL", mixed.totalVisits(),
+                mixed.totalVisits() / mixed.seconds, mixedAllocation / (1024 * 1024));
+        if (!mixed.failures.isEmpty()) {
+            print.println("Errors by status: " + mixed.failures);
+        }
+
+        if (!isolated.isEmpty()) {
+            print.println();
+            print.println("Each endpoint alone (backend allocation attributed to the endpoint)");
+            print.printf("%-10s %9s %7s %9s %9s %12s %10s%n", "Endpoint", "Visits/s", "Errors", "p50 ms", "p99 ms", "Alloc MB/s", "KB/visit");
+            for (Map.Entry<Endpoint, PhaseResult> entry : isolated.entrySet()) {
+                PhaseResult phase = entry.getValue();
+                Histogram latency = phase.latencies.get(entry.getKey());
+                double allocation = isolatedAllocation.get(entry.getKey());
+                long visits = phase.visits(entry.getKey());
+                print.printf("%-10s %9.1f %7d %9.2f %9.2f %12.1f %10.1f%n", entry.getKey(),
+                        latency.getTotalCount() / phase.seconds, phase.errors.get(entry.getKey()),
+                        millis(latency, 50), millis(latency, 99), allocation / (1024 * 1024),
+                        visits == 0 ? 0 : allocation * phase.seconds / visits / 1024);
+            }
+            Map<String, Long> failures = new TreeMap<>();
+            isolated.values().forEach(phase -> failures.putAll(phase.failures));
+            if (!failures.isEmpty()) {
+                print.println("Errors by status: " + failures);
+            }
+        }
+        print.flush();
+        return out.toString();
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void log(String message) {
+        System.out.println("[loadtest] " + message);
+    }
+}
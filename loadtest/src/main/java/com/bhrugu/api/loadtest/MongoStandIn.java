@@ -0,0 +1,89 @@
+package com.bhrugu.api.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import de.bwaldvogel.mongo.bson.Document;
+import io.netty.channel.Channel;
+import java.util.List;
+
+/**
+ * In-process MongoDB stand-in
+ * mongo-java-server with its in-memory backend, reporting itself as MongoDB
+ * 5.0 so the 5.x driver in both backends accepts it. It answers the queries
+ * and bulk writes the backends issue. One gap: secondary indexes other than
+ * unique ones are accepted and ignored, so every catalog query scans. explain
+ * says so (COLLSCAN), and MediaIndexManager logs it. Compare runs with each
+ * other rather than with Atlas latencies.
+ */
+final class MongoStandIn implements AutoCloseable {
+
+    static final String DATABASE = "loadtest";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoServer server;
+    private final String connectionString;
+    private final MongoClient client;
+
+    MongoStandIn() {
+        server = new MongoServer(new Backend());
+        connectionString = server.bindAndGetConnectionString();
+        client = MongoClients.create(connectionString);
+    }
+
+    /**
+     * @return Connection string for the backends, including the database
+     */
+    String uri() {
+        return connectionString + "/" + DATABASE;
+    }
+
+    /**
+     * Insert documents in batches
+     * @param collection Collection name
+     * @param documents Documents to insert
+     */
+    void insert(String collection, List<org.bson.Document> documents) {
+        MongoCollection<org.bson.Document> target = collection(collection);
+        for (int from = 0; from < documents.size(); from += BATCH_SIZE) {
+            target.insertMany(documents.subList(from, Math.min(from + BATCH_SIZE, documents.size())));
+        }
+    }
+
+    MongoCollection<org.bson.Document> collection(String name) {
+        return client.getDatabase(DATABASE).getCollection(name);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    private static final class Backend extends MemoryBackend {
+
+        Backend() {
+            version(ServerVersion.MONGO_5_0);
+        }
+
+        @Override
+        public Document handleCommand(Channel channel, String database, String command, Document query) {
+            if ("explain".equals(command)) {
+                return collectionScan();
+            }
+            return super.handleCommand(channel, database, command, query);
+        }
+
+        // The in-memory backend filters every document for every query
+        private static Document collectionScan() {
+            Document queryPlanner = new Document("winningPlan", new Document("stage", "COLLSCAN"));
+            Document result = new Document("queryPlanner", queryPlanner);
+            result.put("ok", 1.0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bhrugu.api.loadtest;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic media-catalog documents
+ * Same vocabulary and shape as the JMH benchmarks' catalog, written straight
+ * as media-catalog documents: canonical type codes, prices in cents and
+ * ObjectIds built from the item index, so the traffic mix can address any
+ * title by index without reading the catalog back.
+ */
+final class SyntheticCatalog {
+
+    static final String COLLECTION = "media-catalog";
+
+    static final String[] WORDS = {
+        "the", "dark", "knight", "return", "star", "wars", "matrix", "office", "breaking",
+        "bad", "game", "thrones", "panther", "avatar", "water", "dune", "encanto", "house",
+        "dragon", "stranger", "things", "witcher", "ozark", "spider", "man", "home", "way",
+        "top", "gun", "maverick", "blade", "runner", "mad", "max", "fury", "road", "night",
+        "city", "lost", "last", "king", "queen", "empire", "rising", "shadow", "legend"
+    };
+
+    private SyntheticCatalog() {}
+
+    /**
+     * @param size Number of titles
+     * @param seed Random seed; the same seed gives the same catalog
+     * @return media-catalog documents; every other one is a TV show, one in a hundred is featured
+     */
+    static List<Document> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Document> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            }
+            title.append(' ').append(i);
+            catalog.add(new Document("_id", new ObjectId(id(i)))
+                    .append("title", title.toString())
+                    .append("type", i % 2 == 0 ? "movie" : "tv")
+                    .append("synopsis", "A synopsis long enough to look like the ones in the seeded catalog, number " + i + ".")
+                    .append("poster", "poster_" + i + ".jpg")
+                    .append("poster_large", "poster_" + i + "_large.jpg")
+                    .append("rentCents", 199L + random.nextInt(400))
+                    .append("buyCents", 799L + random.nextInt(1200))
+                    .append("featured", i % 100 == 0));
+        }
+        return catalog;
+    }
+
+    static String id(int index) {
+        return String.format("%024x", index);
+    }
+}
@@ -0,0 +1,101 @@
+package com.bhrugu.api.loadtest;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * The backend under test
+ * Both serve the same catalog routes; they differ in the auth payloads and
+ * in where accounts are stored.
+ */
+enum Target {
+
+    BACKEND("backend", "customers") {
+        @Override
+        String registerBody(String user, String password) {
+            return "{\"fullName\":\"Load Test " + user + "\",\"email\":\"" + email(user) + "\","
+                    + "\"password\":\"" + password + "\",\"confirmPassword\":\"" + password + "\"}";
+        }
+
+        @Override
+        String loginBody(String user, String password) {
+            return "{\"username\":\"" + email(user) + "\",\"password\":\"" + password + "\"}";
+        }
+
+        @Override
+        Document cloneAccount(Document template, String user) {
+            return new Document(template)
+                    .append("_id", new ObjectId())
+                    .append("fullName", "Load Test " + user)
+                    .append("email", email(user));
+        }
+    },
+
+    BACKEND_NEW("backend_new/restapi", "users") {
+        @Override
+        String registerBody(String user, String password) {
+            return "{\"username\":\"" + user + "\",\"email\":\"" + email(user) + "\",\"password\":\"" + password + "\","
+                    + "\"firstName\":\"Load\",\"lastName\":\"Test\"}";
+        }
+
+        @Override
+        String loginBody(String user, String password) {
+            return "{\"usernameOrEmail\":\"" + user + "\",\"password\":\"" + password + "\"}";
+        }
+
+        @Override
+        Document cloneAccount(Document template, String user) {
+            return new Document(template)
+                    .append("_id", new ObjectId())
+                    .append("username", user)
+                    .append("email", email(user));
+        }
+    };
+
+    private final String module;
+    private final String accountCollection;
+
+    Target(String module, String accountCollection) {
+        this.module = module;
+        this.accountCollection = accountCollection;
+    }
+
+    /**
+     * @param module Module directory relative to the repository root, e.g. backend_new/restapi
+     * @return The matching target
+     * @throws IllegalArgumentException for any other directory
+     */
+    static Target of(String module) {
+        String normalized = module.replaceAll("/+$", "");
+        for (Target target : values()) {
+            if (target.module.equals(normalized)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unknown module: " + module + " (expected backend or backend_new/restapi)");
+    }
+
+    String module() { return module; }
+
+    /**
+     * @return Collection registered accounts are stored in
+     */
+    String accountCollection() { return accountCollection; }
+
+    /** JSON body for POST /api/auth/register */
+    abstract String registerBody(String user, String password);
+
+    /** JSON body for POST /api/auth/login */
+    abstract String loginBody(String user, String password);
+
+    /**
+     * Copy a registered account under another name
+     * The copy keeps the template's stored password, so every clone logs in
+     * with the template's password without hashing it again.
+     */
+    abstract Document cloneAccount(Document template, String user);
+
+    static String email(String user) {
+        return user + "@loadtest.example";
+    }
+}
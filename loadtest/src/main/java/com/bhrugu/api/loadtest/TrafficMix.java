@@ -0,0 +1,151 @@
+package com.bhrugu.api.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The requests the frontend makes, weighted like a browsing session
+ * Each endpoint is one user action and may take several requests: the home
+ * page loads the movie and TV grids together, as Home.js does. Detail views
+ * follow a Zipf distribution over the catalog (a few titles are most of the
+ * traffic); search terms come from the catalog vocabulary; logins use the
+ * cloned accounts and registrations always create a new one.
+ */
+final class TrafficMix {
+
+    static final String PASSWORD = "loadtest123";
+
+    private static final String GRID_FIELDS = "id,title,type,poster,rent,buy";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    enum Endpoint {
+        HOME(40), SEARCH(20), DETAILS(35), LOGIN(4), REGISTER(1);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final Target target;
+    private final URI base;
+    private final int accounts;
+    private final double[] popularity;
+    private final String runId;
+    private final AtomicLong registrations = new AtomicLong();
+
+    /**
+     * @param target Backend under test
+     * @param base Base URI, e.g. http://127.0.0.1:8080
+     * @param titles Catalog size
+     * @param accounts Number of cloned accounts (user0 .. user{accounts - 1})
+     */
+    TrafficMix(Target target, URI base, int titles, int accounts) {
+        this.target = target;
+        this.base = base;
+        this.accounts = accounts;
+        this.popularity = zipf(titles, 1.0);
+        this.runId = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    /**
+     * @param random Caller's random source (one per worker thread)
+     * @return An endpoint drawn by weight
+     */
+    Endpoint next(Random random) {
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            total += endpoint.weight;
+        }
+        int pick = random.nextInt(total);
+        for (Endpoint endpoint : Endpoint.values()) {
+            pick -= endpoint.weight;
+            if (pick < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return The requests making up one visit to the endpoint, sent together
+     */
+    List<HttpRequest> requests(Endpoint endpoint, Random random) {
+        switch (endpoint) {
+            case HOME:
+                return List.of(get("/api/movies?fields=" + GRID_FIELDS), get("/api/tvshows?fields=" + GRID_FIELDS));
+            case SEARCH:
+                String term = SyntheticCatalog.WORDS[random.nextInt(SyntheticCatalog.WORDS.length)];
+                return List.of(get("/api/media/search?title=" + URLEncoder.encode(term, StandardCharsets.UTF_8)
+                        + "&fields=" + GRID_FIELDS));
+            case DETAILS:
+                return List.of(get("/api/media/" + SyntheticCatalog.id(title(random))));
+            case LOGIN:
+                return List.of(post("/api/auth/login", target.loginBody(account(random.nextInt(accounts)), PASSWORD)));
+            case REGISTER:
+                String user = "lt" + runId + "x" + registrations.incrementAndGet();
+                return List.of(post("/api/auth/register", target.registerBody(user, PASSWORD)));
+            default:
+                throw new IllegalArgumentException(endpoint.name());
+        }
+    }
+
+    static String account(int index) {
+        return "user" + index;
+    }
+
+    // Inverse CDF lookup: index of the first cumulative weight above a uniform draw
+    private int title(Random random) {
+        double draw = random.nextDouble();
+        int low = 0;
+        int high = popularity.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (popularity[mid] < draw) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Cumulative Zipf(s) weights over ranks 1..n, normalized to end at 1.0
+    private static double[] zipf(int n, double s) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, s);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
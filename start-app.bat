@@ -4,7 +4,7 @@ echo.
 
 echo Starting Spring Boot API...
 cd backend
-start "Spring Boot API" cmd /k "mvnw.cmd spring-boot:run"
+start "Spring Boot API" cmd /k "mvnw.cmd -q -f ..\common\pom.xml install -DskipTests && mvnw.cmd spring-boot:run"
 
 echo Waiting for API to start...
 timeout /t 15